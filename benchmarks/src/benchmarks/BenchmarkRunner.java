@@ -0,0 +1,31 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler, which reports the allocation rate and bytes allocated per
+ * operation of every benchmark alongside its throughput.
+ *
+ * Usage: BenchmarkRunner [regex], where the optional regex selects which benchmarks run (ex: "Legality").
+ * @author Riley Muessig
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Main function. Runs the selected benchmarks.
+     * @param args an optional regex selecting the benchmarks
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "benchmarks\\..*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import chess_game.ChessBoard;
+import chess_game.Color;
+import chess_game.Player;
+import org.openjdk.jmh.annotations.*;
+import pieces.ChessPiece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures setting up a board and updating a player's piece list.
+ * @author Riley Muessig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    /**
+     * A player with a full set of pieces, and the piece that is removed and added back.
+     */
+    private Player player;
+    private ChessPiece piece;
+
+    /**
+     * Sets up a board to take the player and piece from.
+     */
+    @Setup
+    public void setUp() {
+        ChessBoard board = new ChessBoard(new Player(Color.WHITE), new Player(Color.BLACK));
+        player = board.getPlayer(Color.WHITE);
+        piece = player.getPieces().get(player.getPieces().size() / 2);
+    }
+
+    /**
+     * Creates two players and a board in the starting position.
+     * @return the board, so it is not optimized away
+     */
+    @Benchmark
+    public ChessBoard newChessBoard() {
+        return new ChessBoard(new Player(Color.WHITE), new Player(Color.BLACK));
+    }
+
+    /**
+     * Removes a piece from a full piece list, as when it is captured, then adds it back so every invocation
+     * starts from the same list.
+     * @return the player, so the work is not optimized away
+     */
+    @Benchmark
+    public Player removePiece() {
+        player.removePiece(piece);
+        player.addPiece(piece);
+        return player;
+    }
+}
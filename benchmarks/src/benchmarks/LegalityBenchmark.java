@@ -0,0 +1,90 @@
+package benchmarks;
+
+import chess_game.ChessGame;
+import chess_game.Player;
+import chess_game.Square;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pieces.ChessPiece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the legality checks of ChessGame: isKingSafe on every pseudo-legal move of the side to move, and
+ * checkmate detection for the side to move.
+ * @author Riley Muessig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegalityBenchmark {
+
+    /**
+     * The corpus position.
+     */
+    @Param({Positions.STARTING, Positions.KIWIPETE, Positions.ITALIAN, Positions.CASTLED_MIDDLEGAME,
+            Positions.ROOK_ENDGAME, Positions.PAWN_ENDGAME, Positions.ROOK_AND_PAWNS})
+    public String position;
+
+    /**
+     * The game set up in the position.
+     */
+    private ChessGame game;
+
+    /**
+     * The player to move and their opponent.
+     */
+    private Player player;
+    private Player opponent;
+
+    /**
+     * The moving piece and destination Square of every pseudo-legal move of the side to move.
+     */
+    private List<ChessPiece> movingPieces;
+    private List<Square> destinations;
+
+    /**
+     * Sets up the position and collects every pseudo-legal move of the side to move.
+     */
+    @Setup
+    public void setUp() {
+        game = Positions.create(position);
+        player = Positions.sideToMove(game);
+        opponent = Positions.opponent(game);
+        movingPieces = new ArrayList<>();
+        destinations = new ArrayList<>();
+        for (ChessPiece piece : player.getPieces()) {
+            piece.findAllMoves();
+            for (Square square : piece.getValidMoves()) {
+                movingPieces.add(piece);
+                destinations.add(square);
+            }
+        }
+    }
+
+    /**
+     * Tests the King's safety after every pseudo-legal move.
+     * @param blackhole consumes the results so they are not optimized away
+     */
+    @Benchmark
+    public void isKingSafe(Blackhole blackhole) {
+        for (int i = 0; i < movingPieces.size(); i++) {
+            Square square = destinations.get(i);
+            blackhole.consume(game.isKingSafe(movingPieces.get(i), square.getRow(), square.getCol(), player));
+        }
+    }
+
+    /**
+     * Checks whether the side to move is checkmated.
+     * @return the result of checkmate, so it is not optimized away
+     */
+    @Benchmark
+    public boolean checkmate() {
+        return game.checkmate(player, opponent);
+    }
+}
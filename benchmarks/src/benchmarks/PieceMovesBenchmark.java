@@ -0,0 +1,71 @@
+package benchmarks;
+
+import chess_game.ChessGame;
+import chess_game.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pieces.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ChessPiece.findAllMoves for each piece type, on every piece of that type belonging to the side to
+ * move in each corpus position.
+ * @author Riley Muessig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+
+    /**
+     * The corpus position.
+     */
+    @Param({Positions.STARTING, Positions.KIWIPETE, Positions.ITALIAN, Positions.CASTLED_MIDDLEGAME,
+            Positions.ROOK_ENDGAME, Positions.PAWN_ENDGAME, Positions.ROOK_AND_PAWNS})
+    public String position;
+
+    /**
+     * The piece type, by class name.
+     */
+    @Param({"Pawn", "Knight", "Bishop", "Rook", "Queen", "King"})
+    public String pieceType;
+
+    /**
+     * The pieces of the benchmarked type that belong to the side to move.
+     */
+    private List<ChessPiece> pieces;
+
+    /**
+     * Sets up the position and collects the pieces to benchmark.
+     */
+    @Setup
+    public void setUp() {
+        ChessGame game = Positions.create(position);
+        Player player = Positions.sideToMove(game);
+        pieces = new ArrayList<>();
+        for (ChessPiece piece : player.getPieces()) {
+            if (piece.getClass().getSimpleName().equals(pieceType)) {
+                pieces.add(piece);
+            }
+        }
+    }
+
+    /**
+     * Finds all moves of every collected piece.
+     * @param blackhole consumes the results so they are not optimized away
+     */
+    @Benchmark
+    public void findAllMoves(Blackhole blackhole) {
+        for (int i = 0; i < pieces.size(); i++) {
+            ChessPiece piece = pieces.get(i);
+            piece.findAllMoves();
+            blackhole.consume(piece.getValidMoves().size());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import chess_game.ChessGame;
+import chess_game.Color;
+import chess_game.Player;
+import chess_game.Position;
+
+/**
+ * The fixed corpus of positions every benchmark runs on, given as FEN strings, and the code that sets a ChessGame
+ * up in one of them. Every position is chosen so that the side to move is neither checkmated nor stalemated.
+ * @author Riley Muessig
+ */
+public final class Positions {
+
+    /**
+     * Names of the positions, usable as JMH @Param values.
+     */
+    public static final String STARTING = "starting";
+    public static final String KIWIPETE = "kiwipete";
+    public static final String ITALIAN = "italian";
+    public static final String CASTLED_MIDDLEGAME = "castledMiddlegame";
+    public static final String ROOK_ENDGAME = "rookEndgame";
+    public static final String PAWN_ENDGAME = "pawnEndgame";
+    public static final String ROOK_AND_PAWNS = "rookAndPawns";
+
+    /**
+     * Positions ordered by name.
+     */
+    private static final String[][] CORPUS = {
+            {STARTING, "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"},
+            {KIWIPETE, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"},
+            {ITALIAN, "r1bq1rk1/pppp1ppp/2n2n2/2b1p3/2B1P3/2NP1N2/PPP2PPP/R1BQ1RK1 w - - 0 7"},
+            {CASTLED_MIDDLEGAME, "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"},
+            {ROOK_ENDGAME, "6k1/5ppp/8/8/8/8/5PPP/3R2K1 b - - 0 30"},
+            {PAWN_ENDGAME, "8/8/4k3/3p4/3P4/4K3/8/8 w - - 0 40"},
+            {ROOK_AND_PAWNS, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"},
+    };
+
+    /**
+     * Positions only holds static helpers and cannot be instantiated.
+     */
+    private Positions() {
+    }
+
+    /**
+     * Creates a new ChessGame set up in a position of the corpus.
+     * @param name the name of the position
+     * @return the ChessGame
+     */
+    public static ChessGame create(String name) {
+        for (String[] entry : CORPUS) {
+            if (entry[0].equals(name)) {
+                return new ChessGame(entry[1]);
+            }
+        }
+        throw new IllegalArgumentException("Unknown position: " + name);
+    }
+
+    /**
+     * Returns the player whose turn it is in a ChessGame set up by create.
+     * @param game the ChessGame
+     * @return the Player to move
+     */
+    public static Player sideToMove(ChessGame game) {
+        Position position = game.getBoard().getPosition();
+        return game.getBoard().getPlayer(position.getSideToMove() == Position.WHITE ? Color.WHITE : Color.BLACK);
+    }
+
+    /**
+     * Returns the player whose turn it is not in a ChessGame set up by create.
+     * @param game the ChessGame
+     * @return the Player not to move
+     */
+    public static Player opponent(ChessGame game) {
+        Position position = game.getBoard().getPosition();
+        return game.getBoard().getPlayer(position.getSideToMove() == Position.WHITE ? Color.BLACK : Color.WHITE);
+    }
+}
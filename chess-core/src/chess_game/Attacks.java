@@ -0,0 +1,355 @@
+package chess_game;
+
+/**
+ * Attacks holds precomputed attack tables for every piece. Pawn, knight and king attacks only depend on the
+ * square of the piece and are stored in one table per piece. Bishop and rook attacks are looked up in
+ * constant time by square and board occupancy using magic bitboards, and queen attacks are the union of both.
+ *
+ * For every square, only the occupancy of the squares that can block a slider (the relevant occupancy mask,
+ * which excludes the board edges) affects its attacks. Multiplying the masked occupancy by a magic number
+ * and shifting it right maps every possible blocker arrangement to a unique slot in that square's table.
+ * The magic numbers are found once when this class is initialized, using a fixed seed so the tables are
+ * identical on every run.
+ *
+ * Squares use the same indexing as Position (row * 8 + col).
+ * @author Riley Muessig
+ */
+public final class Attacks {
+
+    /**
+     * Squares attacked by a pawn of each color, a knight and a king standing on each square.
+     */
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+
+    /**
+     * Squares strictly between two squares that share a row, column or diagonal, and every square on the
+     * line through them (including both squares). Empty for squares that are not aligned.
+     */
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    /**
+     * Offsets (row, col) of the squares that pawns attack, and that knights and kings can jump to.
+     * White pawns move up the board (towards row 0) and black pawns move down.
+     */
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, -1}, {-1, 1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{1, -1}, {1, 1}};
+    private static final int[][] KNIGHT_OFFSETS = {{2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2},
+            {1, 2}};
+    private static final int[][] KING_OFFSETS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1},
+            {1, -1}};
+
+    /**
+     * Direction offsets (row, col) that bishops and rooks slide along.
+     */
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] ROOK_DIRECTIONS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    /**
+     * Relevant occupancy masks for each square.
+     */
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] ROOK_MASKS = new long[64];
+
+    /**
+     * Magic multipliers for each square.
+     */
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+
+    /**
+     * Right shift applied to the magic product of each square (64 minus the number of relevant bits).
+     */
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+
+    /**
+     * Start of each square's slots in the shared attack tables.
+     */
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+
+    /**
+     * Shared attack tables for every square and blocker arrangement.
+     */
+    private static final long[] BISHOP_ATTACKS;
+    private static final long[] ROOK_ATTACKS;
+
+    /**
+     * State of the xorshift generator used to search for magic numbers.
+     */
+    private static long seed = 0x2545F4914F6CDD1DL;
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int row = square / 8;
+            int col = square % 8;
+            PAWN_ATTACKS[Position.WHITE][square] = leaperAttacks(row, col, WHITE_PAWN_OFFSETS);
+            PAWN_ATTACKS[Position.BLACK][square] = leaperAttacks(row, col, BLACK_PAWN_OFFSETS);
+            KNIGHT_ATTACKS[square] = leaperAttacks(row, col, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = leaperAttacks(row, col, KING_OFFSETS);
+        }
+        BISHOP_ATTACKS = initSlider(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+        ROOK_ATTACKS = initSlider(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long bits = (1L << a) | (1L << b);
+                if ((rookAttacks(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, 1L << b) & rookAttacks(b, 1L << a);
+                    LINE[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | bits;
+                } else if ((bishopAttacks(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, 1L << b) & bishopAttacks(b, 1L << a);
+                    LINE[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | bits;
+                }
+            }
+        }
+    }
+
+    /**
+     * Attacks only holds static tables and cannot be instantiated.
+     */
+    private Attacks() {
+    }
+
+    /**
+     * Returns the squares attacked by a pawn on a given square.
+     * @param color the color of the pawn
+     * @param square the square of the pawn
+     * @return bitboard of the two (or one, on the edge of the board) diagonal squares in front of the pawn
+     */
+    public static long pawnAttacks(int color, int square) {
+        return PAWN_ATTACKS[color][square];
+    }
+
+    /**
+     * Returns the squares attacked by a knight on a given square.
+     * @param square the square of the knight
+     * @return bitboard of attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Returns the squares attacked by a king on a given square.
+     * @param square the square of the king
+     * @return bitboard of attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Returns the squares attacked by a bishop on a given square.
+     * @param square the square of the bishop
+     * @param occupied bitboard of every occupied square
+     * @return bitboard of attacked squares, including squares of blocking pieces of either color
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        int slot = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + slot];
+    }
+
+    /**
+     * Returns the squares attacked by a rook on a given square.
+     * @param square the square of the rook
+     * @param occupied bitboard of every occupied square
+     * @return bitboard of attacked squares, including squares of blocking pieces of either color
+     */
+    public static long rookAttacks(int square, long occupied) {
+        int slot = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + slot];
+    }
+
+    /**
+     * Returns the squares attacked by a queen on a given square.
+     * @param square the square of the queen
+     * @param occupied bitboard of every occupied square
+     * @return bitboard of attacked squares, including squares of blocking pieces of either color
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return bishopAttacks(square, occupied) | rookAttacks(square, occupied);
+    }
+
+    /**
+     * Returns the squares strictly between two squares on the same row, column or diagonal.
+     * @param a the first square
+     * @param b the second square
+     * @return bitboard of the squares between them, or 0 if they are not aligned
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Returns every square on the row, column or diagonal through two squares.
+     * @param a the first square
+     * @param b the second square
+     * @return bitboard of the whole line including both squares, or 0 if they are not aligned
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    /**
+     * Returns the squares reached by jumping from a square by each of the given offsets.
+     * @param row the row of the piece
+     * @param col the column of the piece
+     * @param offsets the (row, col) offsets the piece can jump by
+     * @return bitboard of the squares that are on the board
+     */
+    private static long leaperAttacks(int row, int col, int[][] offsets) {
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            if (r >= 0 && r <= 7 && c >= 0 && c <= 7) {
+                attacks |= 1L << Position.square(r, c);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Builds the masks, magics and attack table for one kind of slider.
+     * @param directions the directions the slider moves in
+     * @param masks filled with the relevant occupancy mask of each square
+     * @param magics filled with the magic number of each square
+     * @param shifts filled with the shift of each square
+     * @param offsets filled with the table offset of each square
+     * @return the shared attack table
+     */
+    private static long[] initSlider(int[][] directions, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = relevantMask(square, directions);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = size;
+            size += 1 << Long.bitCount(masks[square]);
+        }
+        long[] table = new long[size];
+        for (int square = 0; square < 64; square++) {
+            int bits = Long.bitCount(masks[square]);
+            long[] occupancies = new long[1 << bits];
+            long[] attacks = new long[1 << bits];
+            // Enumerates every subset of the mask using the carry-rippler trick.
+            long subset = 0L;
+            int count = 0;
+            do {
+                occupancies[count] = subset;
+                attacks[count] = slidingAttacks(square, subset, directions);
+                count++;
+                subset = (subset - masks[square]) & masks[square];
+            } while (subset != 0L);
+            magics[square] = findMagic(masks[square], shifts[square], occupancies, attacks, count);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((occupancies[i] * magics[square]) >>> shifts[square]);
+                table[offsets[square] + slot] = attacks[i];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Searches for a magic number that maps every blocker arrangement of a square to a slot without
+     * two arrangements with different attacks sharing a slot.
+     * @param mask the relevant occupancy mask of the square
+     * @param shift the shift of the square
+     * @param occupancies every subset of the mask
+     * @param attacks the attacks for each subset
+     * @param count the number of subsets
+     * @return a working magic number
+     */
+    private static long findMagic(long mask, int shift, long[] occupancies, long[] attacks, int count) {
+        long[] used = new long[count];
+        int[] epoch = new int[count];
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            long magic = nextRandom() & nextRandom() & nextRandom(); // magics with few set bits work best
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean failed = false;
+            for (int i = 0; i < count && !failed; i++) {
+                int slot = (int) ((occupancies[i] * magic) >>> shift);
+                if (epoch[slot] != attempt) {
+                    epoch[slot] = attempt;
+                    used[slot] = attacks[i];
+                } else if (used[slot] != attacks[i]) {
+                    failed = true;
+                }
+            }
+            if (!failed) {
+                return magic;
+            }
+        }
+    }
+
+    /**
+     * Returns the squares that can block a slider on a given square. Squares on the edge of the board
+     * are left out because a piece there cannot block anything further along the ray.
+     * @param square the square
+     * @param directions the directions the slider moves in
+     * @return the relevant occupancy mask
+     */
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = 0L;
+        int row = square / 8;
+        int col = square % 8;
+        for (int[] direction : directions) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            while (r + direction[0] >= 0 && r + direction[0] <= 7 && c + direction[1] >= 0
+                    && c + direction[1] <= 7) {
+                mask |= 1L << Position.square(r, c);
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Computes slider attacks ray by ray. Only used to build the tables.
+     * @param square the square of the slider
+     * @param occupied bitboard of every occupied square
+     * @param directions the directions the slider moves in
+     * @return bitboard of attacked squares
+     */
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int row = square / 8;
+        int col = square % 8;
+        for (int[] direction : directions) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            while (r >= 0 && r <= 7 && c >= 0 && c <= 7) {
+                long bit = 1L << Position.square(r, c);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Returns the next value of the xorshift generator.
+     * @return a pseudo-random long
+     */
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 2685821657736338717L;
+    }
+}
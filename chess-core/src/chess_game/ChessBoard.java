@@ -0,0 +1,165 @@
+package chess_game;
+
+import pieces.*;
+
+/**
+ * ChessBoard represents the chess board by using a 2d array of Squares that contain information
+ * about each Chess Piece on the board. The Squares are views over a bitboard Position, which holds
+ * the actual piece placement.
+ * @author Riley Muessig
+ */
+public class ChessBoard {
+
+    /**
+     * the 2d array of Squares
+     */
+    private Square[][] squares;
+
+    /**
+     * The bitboard position that the Squares are a view over
+     */
+    private Position position;
+
+    /**
+     * Both chess Players
+     */
+    private Player white;
+    private Player black;
+
+    /**
+     * Initializes the 2d array of squares and sets up the board with each piece in its
+     * proper position. Adds the pieces to their respective player's piece list.
+     */
+    public ChessBoard(Player player1, Player player2) {
+        this(player1, player2, Fen.STARTING_POSITION);
+    }
+
+    /**
+     * Initializes the 2d array of squares and sets up the board in the position given by a FEN string (see Fen).
+     * Adds the pieces to their respective player's piece list, and sets the castling, first move and en passant
+     * state of each King, Rook and Pawn to match the FEN's castling rights and en passant square.
+     * @param player1 the player of the white pieces
+     * @param player2 the player of the black pieces
+     * @param fen the FEN string of the position
+     * @throws IllegalArgumentException if the FEN string is malformed
+     */
+    public ChessBoard(Player player1, Player player2, String fen) {
+        white = player1;
+        black = player2;
+        Position setup = Fen.parse(fen);
+        position = new Position();
+        squares = new Square[8][8];
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                // Fills the board with new Squares in such a way that follows the standard
+                // chess board pattern of alternating light and dark squares.
+                switch (row % 2) {
+                    // Creates new squares following the correct checkerboard color pattern for even rows
+                    case 0:
+                        if (col % 2 == 0) {
+                            squares[row][col] = new Square(row, col, Square.SquareType.LIGHT, position);
+                        } else { 
+                            squares[row][col] = new Square(row, col, Square.SquareType.DARK, position);
+                        }
+                        break;
+
+                    // Creates new squares following the correct checkerboard color pattern for odd rows
+                    case 1:
+                        if (col % 2 == 0) {
+                            squares[row][col] = new Square(row, col, Square.SquareType.DARK, position);
+                        } else {
+                            squares[row][col] = new Square(row, col, Square.SquareType.LIGHT, position);
+                        }
+                        break;
+                }
+
+                int piece = setup.getPiece(Position.square(row, col));
+                if (piece != Position.EMPTY) {
+                    ChessPiece chessPiece = createPiece(piece, squares[row][col], setup);
+                    squares[row][col].setCurrentPiece(chessPiece);
+                    getPlayer(chessPiece.getColor()).addPiece(chessPiece);
+                }
+            }
+        }
+        position.setSideToMove(setup.getSideToMove());
+        position.setCastlingRights(setup.getCastlingRights());
+        position.setEnPassantSquare(setup.getEnPassantSquare());
+        position.setHalfmoveClock(setup.getHalfmoveClock());
+        position.setFullmoveNumber(setup.getFullmoveNumber());
+    }
+
+    /**
+     * Creates the ChessPiece for a piece of a set up Position. A King or Rook is castleable only if the castling
+     * rights allow it, a Pawn off its starting row has already made its first move, and the Pawn in front of the
+     * en passant square has just moved two squares.
+     * @param piece the piece code
+     * @param square the square the piece is on
+     * @param setup the position being set up
+     * @return the new ChessPiece
+     */
+    private ChessPiece createPiece(int piece, Square square, Position setup) {
+        boolean isWhite = Position.pieceColor(piece) == Position.WHITE;
+        Player player = isWhite ? white : black;
+        int rights = setup.getCastlingRights();
+        int kingside = isWhite ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+        int queenside = isWhite ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        int index = square.getIndex();
+        switch (Position.pieceType(piece)) {
+            case Position.PAWN:
+                Pawn pawn = new Pawn(this, square, player);
+                if (square.getRow() != (isWhite ? 6 : 1)) {
+                    pawn.setFirstMove();
+                }
+                int enPassant = setup.getEnPassantSquare();
+                if (enPassant != Position.NO_SQUARE && index == (isWhite ? enPassant - 8 : enPassant + 8)) {
+                    pawn.setEnPassantable(true);
+                }
+                return pawn;
+            case Position.KNIGHT:
+                return new Knight(this, square, player);
+            case Position.BISHOP:
+                return new Bishop(this, square, player);
+            case Position.ROOK:
+                Rook rook = new Rook(this, square, player);
+                int kingsideRook = isWhite ? Position.WHITE_KINGSIDE_ROOK : Position.BLACK_KINGSIDE_ROOK;
+                int queensideRook = isWhite ? Position.WHITE_QUEENSIDE_ROOK : Position.BLACK_QUEENSIDE_ROOK;
+                rook.setCastleable((index == kingsideRook && (rights & kingside) != 0)
+                        || (index == queensideRook && (rights & queenside) != 0));
+                return rook;
+            case Position.QUEEN:
+                return new Queen(this, square, player);
+            default:
+                King king = new King(this, square, player);
+                king.setCastleable((rights & (kingside | queenside)) != 0);
+                return king;
+        }
+    }
+
+    /**
+     * Returns the 2d array of squares
+     * @return the 2d array of Squares
+     */
+    public Square[][] getSquares() {
+        return squares;
+    }
+
+    /**
+     * Returns the player that owns the pieces of a color on this board.
+     * @param color the color of the player's pieces
+     * @return the Player
+     */
+    public Player getPlayer(Color color) {
+        if (color == Color.WHITE) {
+            return white;
+        }
+        return black;
+    }
+
+    /**
+     * Returns the bitboard position backing the Squares of this board.
+     * @return the Position
+     */
+    public Position getPosition() {
+        return position;
+    }
+}
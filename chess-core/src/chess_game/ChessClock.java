@@ -0,0 +1,136 @@
+package chess_game;
+
+/**
+ * ChessClock is the clock of one player. It runs only during that player's turns, and a player whose clock
+ * reaches zero has lost on time (flagged).
+ *
+ * Two time controls can be added to the base time. An increment (Fischer) is added to the clock after every move
+ * made in time. A delay (US simple delay) is a grace period at the start of every turn before the clock starts
+ * counting down, so a move made within the delay costs no time at all.
+ * @author Riley Muessig
+ */
+public class ChessClock {
+
+    /**
+     * Nanoseconds per millisecond
+     */
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    /**
+     * The time left when the clock was last stopped, in nanoseconds
+     */
+    private long remainingNanos;
+
+    /**
+     * The time added after every move, in nanoseconds
+     */
+    private final long incrementNanos;
+
+    /**
+     * The grace period at the start of every turn, in nanoseconds
+     */
+    private final long delayNanos;
+
+    /**
+     * Whether or not it is this clock's player's turn
+     */
+    private boolean running;
+
+    /**
+     * System.nanoTime when the clock was last started
+     */
+    private long startNanos;
+
+    /**
+     * Constructor for a stopped ChessClock.
+     * @param initialMillis the base time in milliseconds
+     * @param incrementMillis the time added after every move in milliseconds
+     * @param delayMillis the grace period at the start of every turn in milliseconds
+     */
+    public ChessClock(long initialMillis, long incrementMillis, long delayMillis) {
+        if (initialMillis <= 0 || incrementMillis < 0 || delayMillis < 0) {
+            throw new IllegalArgumentException("Bad time control: " + initialMillis + " + " + incrementMillis
+                    + ", delay " + delayMillis);
+        }
+        remainingNanos = initialMillis * NANOS_PER_MILLI;
+        incrementNanos = incrementMillis * NANOS_PER_MILLI;
+        delayNanos = delayMillis * NANOS_PER_MILLI;
+        running = false;
+    }
+
+    /**
+     * Starts the clock at the start of its player's turn. Does nothing if the clock is already running.
+     */
+    public void start() {
+        if (!running) {
+            running = true;
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops the clock when its player has moved, and adds the increment if the move was made in time. Does nothing
+     * if the clock is not running.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        remainingNanos = getRemainingNanos();
+        running = false;
+        if (remainingNanos > 0) {
+            remainingNanos += incrementNanos;
+        }
+    }
+
+    /**
+     * Returns the time left.
+     * @return the time left in milliseconds, 0 if the player has flagged
+     */
+    public long getRemainingMillis() {
+        return Math.max(getRemainingNanos(), 0) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns true if the clock has reached zero.
+     * @return whether or not the player has run out of time
+     */
+    public boolean isFlagged() {
+        return getRemainingNanos() <= 0;
+    }
+
+    /**
+     * Returns true if it is this clock's player's turn.
+     * @return whether or not the clock is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the increment.
+     * @return the time added after every move in milliseconds
+     */
+    public long getIncrementMillis() {
+        return incrementNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the delay.
+     * @return the grace period at the start of every turn in milliseconds
+     */
+    public long getDelayMillis() {
+        return delayNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the time left, not counting the part of the current turn that is still within the delay.
+     * @return the time left in nanoseconds, which is negative once the player has flagged
+     */
+    private long getRemainingNanos() {
+        if (!running) {
+            return remainingNanos;
+        }
+        return remainingNanos - Math.max(System.nanoTime() - startNanos - delayNanos, 0);
+    }
+}
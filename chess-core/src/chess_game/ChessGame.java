@@ -0,0 +1,663 @@
+package chess_game;
+
+import pieces.*;
+
+import java.util.ArrayList;
+
+/**
+ * ChessGame acts as the model in the Model-View-Controller architecture. Holds information about the
+ * game including the game state and board state. Runs the main game loop.
+ * @author Riley Muessig
+ */
+public class ChessGame {
+
+    /**
+     * Keeps track of which player's turn it is and the state of their turn.
+     */
+    public enum GameState {
+        WHITE_SELECT_PIECE, // White selects a piece to move.
+        WHITE_SELECT_MOVE, // White selects where to move their selected piece.
+
+        BLACK_SELECT_PIECE, // Black selects a piece to move.
+        BLACK_SELECT_MOVE, // Black selects where to move their selected piece.
+
+        CHECKMATE_WHITE_WINS, // The game is in checkmate and the white pieces won
+        CHECKMATE_BLACK_WINS, // The game is in checkmate and the black pieces won
+        STALEMATE, // The game is in stalemate
+
+        TIMEOUT_WHITE_WINS, // Black ran out of time and the white pieces won
+        TIMEOUT_BLACK_WINS, // White ran out of time and the black pieces won
+        TIMEOUT_DRAW, // A player ran out of time, but their opponent does not have the pieces to checkmate
+    }
+
+    /**
+     * The chess board.
+     */
+    private ChessBoard board;
+
+    /**
+     * The listener that is observing this chess game, such as the GUI. Never null: a ChessGame without a
+     * view notifies a listener that ignores every event.
+     */
+    private GameListener observer;
+
+    /**
+     * The game state which keeps track of player turns.
+     */
+    private GameState gameState;
+
+    /**
+     * The player that controls the white pieces.
+     */
+    private Player player;
+
+    /**
+     * The player that controls the black pieces.
+     */
+    private Player player2;
+
+    /**
+     * The current selected piece by either player.
+     */
+    private ChessPiece selectedPiece;
+
+    /**
+     * Reusable list of the legal moves of the player whose turn it is.
+     */
+    private MoveList legalMoves;
+
+    /**
+     * Constructor for ChessGame. Creates the board and players.
+     */
+    public ChessGame() {
+        this(Fen.STARTING_POSITION);
+    }
+
+    /**
+     * Constructor for a ChessGame that starts from a position given as a FEN string (see Fen). Creates the board
+     * and players, and starts with the turn of the side to move. If that side is already checkmated or
+     * stalemated, the game starts in its ended state.
+     * @param fen the FEN string of the position
+     * @throws IllegalArgumentException if the FEN string is malformed
+     */
+    public ChessGame(String fen) {
+        player = new Player(Color.WHITE);
+        player2 = new Player(Color.BLACK);
+        board = new ChessBoard(player, player2, fen);
+        legalMoves = new MoveList();
+        observer = new GameListener() { };
+        if (board.getPosition().getSideToMove() == Position.WHITE) {
+            gameState = GameState.WHITE_SELECT_PIECE;
+            checkmate(player, player2);
+        } else {
+            gameState = GameState.BLACK_SELECT_PIECE;
+            checkmate(player2, player);
+        }
+    }
+
+    /**
+     * Updates the game based on the current GameState given the index of a square selected by one of the players.
+     *
+     * GameState.WHITE_SELECT_PIECE: Checks if the selected square occupies a valid white piece. If valid, finds all
+     * legal moves for the selected piece.
+     * GameState.WHITE_SELECT_MOVE: Verifies if the selected move is a legal move for the selected white piece, then
+     * tries to execute the move on the board.
+     *
+     * GameState.BLACK_SELECT_PIECE: Checks if the selected square occupies a valid black piece. If valid, finds all
+     * legal moves for the selected piece.
+     * GameState.BLACK_SELECT_MOVE: Verifies if the selected move is a legal move for the selected black piece, then
+     * tries to execute the move on the board.
+     *
+     * @param row the row selected by the player
+     * @param col the column selected by the player
+     */
+    public void updateGame(int row, int col) {
+        // A player who has run out of time can no longer select anything.
+        if (checkFlag()) {
+            return;
+        }
+
+        // Verifies if a selected square contains a white piece.
+        if (gameState == GameState.WHITE_SELECT_PIECE) {
+            if (!board.getSquares()[row][col].isOccupied()) {
+                observer.messageChanged(board.getSquares()[row][col].toString() + " is an empty square! Select" +
+                        " a valid piece.");
+            } else {
+                if (board.getSquares()[row][col].getCurrentPiece().getColor() != Color.WHITE) {
+                    observer.messageChanged(board.getSquares()[row][col].toString() + " contains a black piece." +
+                            "Please select a white piece.");
+                } else {
+                    observer.messageChanged(board.getSquares()[row][col].toString() + " selected.");
+                    selectPiece(board.getSquares()[row][col].getCurrentPiece());
+                    gameState = GameState.WHITE_SELECT_MOVE;
+                }
+            }
+        }
+
+        // Verifies the validity of a move selected by the player controlling the white pieces. If valid,
+        // executes the move if it does not leave the player in check. Once the move is executed, sees if
+        // the player controlling the black pieces is in checkmate.
+        else if (gameState == GameState.WHITE_SELECT_MOVE) {
+            if (verifySelection(row, col, player, GameState.BLACK_SELECT_PIECE)) {
+                if (checkmate(player2, player)) {
+                    observer.messageChanged("Checkmate! White wins!");
+                }
+                player.getKing().setCheck(false); // If the game is not ended, the white king is guaranteed to not be
+                                                  // in check at this point.
+                switchClocks(player, player2);
+            }
+        }
+
+        // Verifies if a selected square contains a black piece.
+        else if (gameState == GameState.BLACK_SELECT_PIECE) {
+            if (!board.getSquares()[row][col].isOccupied()) {
+                observer.messageChanged(board.getSquares()[row][col].toString() + " is an empty square! Select" +
+                        " a valid piece.");
+            } else {
+                if (board.getSquares()[row][col].getCurrentPiece().getColor() != Color.BLACK) {
+                    observer.messageChanged(board.getSquares()[row][col].toString() + " contains a white piece." +
+                            "Please select a black piece.");
+                } else {
+                    observer.messageChanged(board.getSquares()[row][col].toString() + " selected.");
+                    selectPiece(board.getSquares()[row][col].getCurrentPiece());
+                    gameState = GameState.BLACK_SELECT_MOVE;
+                }
+            }
+        }
+
+        // Verifies the validity of a move selected by the player controlling the black pieces. If valid,
+        // executes the move if it does not leave the player in check. Once the move is executed, sees if
+        // the player controlling the white pieces is in checkmate.
+        else if (gameState == GameState.BLACK_SELECT_MOVE) {
+            if (verifySelection(row, col, player2, GameState.WHITE_SELECT_PIECE)) {
+                if (checkmate(player, player2)) {
+                    observer.messageChanged("Checkmate! Black wins!");
+                }
+                player2.getKing().setCheck(false); // If the game is not ended, the black king is guaranteed to not be
+                                                   // in check at this point.
+                switchClocks(player2, player);
+            }
+        }
+    }
+
+    /**
+     * Checks if a given player is in checkmate or stalemate by generating every legal move of the player
+     * from the board's Position in a single pass, without changing the board.
+     *
+     * If the player has no legal moves left and their King is in check,
+     * the player is found to be in checkmate.
+     *
+     * If the player has no legal moves left and their King is not in check,
+     * the game ends in a stalemate.
+     *
+     * Updates the GameState if the game has ended.
+     *
+     * @param player the player that will be inspected for being in checkmate
+     * @param attackingPlayer the player that just moved
+     * @return true if the player is in checkmate, false if not
+     */
+    public boolean checkmate(Player player, Player attackingPlayer) {
+        Position position = board.getPosition();
+        int kingSquare = player.getKing().getCurrentSquare().getIndex();
+        boolean inCheck = position.isSquareAttacked(kingSquare, attackingPlayer.getColor().ordinal());
+        player.getKing().setCheck(inCheck);
+        legalMoves.clear();
+        MoveGenerator.generateLegal(position, legalMoves);
+        if (legalMoves.size() > 0) {
+            return false;
+        }
+        if (inCheck) {
+            if (attackingPlayer.getColor() == Color.WHITE) {
+                gameState = GameState.CHECKMATE_WHITE_WINS;
+            } else {
+                gameState = GameState.CHECKMATE_BLACK_WINS;
+            }
+            return true;
+        }
+        gameState = GameState.STALEMATE;
+        observer.messageChanged("Stalemate");
+        return false;
+    }
+
+    /**
+     * Gives both players a ChessClock with the same time control and starts the clock of the player whose turn it
+     * is. The game is untimed until this is called.
+     * @param initialMillis the base time of each player in milliseconds
+     * @param incrementMillis the time added after every move in milliseconds
+     * @param delayMillis the grace period at the start of every turn in milliseconds
+     */
+    public void setClocks(long initialMillis, long incrementMillis, long delayMillis) {
+        player.setClock(new ChessClock(initialMillis, incrementMillis, delayMillis));
+        player2.setClock(new ChessClock(initialMillis, incrementMillis, delayMillis));
+        Player toMove = getPlayerToMove();
+        if (toMove != null) {
+            toMove.getClock().start();
+        }
+    }
+
+    /**
+     * Checks if the player whose turn it is has run out of time, and if so ends the game. The opponent wins, unless
+     * they only have their King, or their King and a single Knight or Bishop, in which case the game is drawn.
+     * Checked before every selection, and can also be polled, for example by a view that shows the clocks.
+     * @return true if the game has just ended on time, false if not or if the game is untimed
+     */
+    public boolean checkFlag() {
+        Player toMove = getPlayerToMove();
+        if (toMove == null || toMove.getClock() == null || !toMove.getClock().isFlagged()) {
+            return false;
+        }
+        toMove.getClock().stop();
+        Player opponent = toMove == player ? player2 : player;
+        String flagged = toMove == player ? "White" : "Black";
+        if (!hasMatingMaterial(opponent)) {
+            gameState = GameState.TIMEOUT_DRAW;
+            observer.messageChanged(flagged + " ran out of time! Draw by insufficient material.");
+        } else if (opponent == player) {
+            gameState = GameState.TIMEOUT_WHITE_WINS;
+            observer.messageChanged("Black ran out of time! White wins!");
+        } else {
+            gameState = GameState.TIMEOUT_BLACK_WINS;
+            observer.messageChanged("White ran out of time! Black wins!");
+        }
+        return true;
+    }
+
+    /**
+     * Stops the clock of the player that just moved and, if the game goes on, starts the clock of their opponent.
+     * @param mover the player that just moved
+     * @param opponent the player whose turn it is now
+     */
+    private void switchClocks(Player mover, Player opponent) {
+        if (mover.getClock() == null) {
+            return;
+        }
+        mover.getClock().stop();
+        if (getPlayerToMove() == opponent) {
+            opponent.getClock().start();
+        }
+    }
+
+    /**
+     * Returns the player whose turn it is.
+     * @return the Player, or null if the game has ended
+     */
+    private Player getPlayerToMove() {
+        if (gameState == GameState.WHITE_SELECT_PIECE || gameState == GameState.WHITE_SELECT_MOVE) {
+            return player;
+        }
+        if (gameState == GameState.BLACK_SELECT_PIECE || gameState == GameState.BLACK_SELECT_MOVE) {
+            return player2;
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if a player has more than a lone King or a King and a single Knight or Bishop, and so could
+     * still checkmate.
+     * @param player the player
+     * @return whether or not the player has mating material
+     */
+    private boolean hasMatingMaterial(Player player) {
+        Position position = board.getPosition();
+        int color = player.getColor().ordinal();
+        if ((position.getPieces(color, Position.PAWN) | position.getPieces(color, Position.ROOK)
+                | position.getPieces(color, Position.QUEEN)) != 0) {
+            return true;
+        }
+        return Long.bitCount(position.getPieces(color, Position.KNIGHT) | position.getPieces(color, Position.BISHOP))
+                >= 2;
+    }
+
+    /**
+     * Selects a piece to be moved and finds its valid moves. The valid moves are then narrowed down to the
+     * legal moves of the piece, found in a single pass over the board's Position, so only moves that
+     * do not leave the player's King in check are kept.
+     *
+     * @param piece the piece selected by the player.
+     */
+    private void selectPiece(ChessPiece piece) {
+        selectedPiece = piece;
+        selectedPiece.findAllMoves();
+        int from = piece.getCurrentSquare().getIndex();
+        legalMoves.clear();
+        MoveGenerator.generateLegal(board.getPosition(), legalMoves);
+        long legalTargets = 0L;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (Move.from(legalMoves.get(i)) == from) {
+                legalTargets |= 1L << Move.to(legalMoves.get(i));
+            }
+        }
+        long targets = legalTargets;
+        selectedPiece.getValidMoves().removeIf(square -> (targets & (1L << square.getIndex())) == 0);
+    }
+
+    /**
+     * Checks if a square selected by a player is occupied, then tries to move the selected piece to that square if it
+     * is a valid move.
+     *
+     * If the player selects a square that occupies a piece of their color, will update the selected piece
+     * to the piece on the new square instead of trying to select that square as a move.
+     *
+     * @param row The row of the selected move.
+     * @param col The column of the selected move.
+     * @param player The player that selected the move.
+     * @param newGameState new GameState to be switched to if move is executed.
+     * @return true if a move if executed, false if another piece is selected instead.
+     */
+    public boolean verifySelection(int row, int col, Player player, GameState newGameState) {
+        resetEnPassant(player);
+        if (board.getSquares()[row][col].isOccupied()) {
+            if (board.getSquares()[row][col].getCurrentPiece().getColor() == player.getColor()) {
+                // If the selected square occupies the same color piece as the player, re-selects the piece
+                // to be moved and does not execute any move.
+                 observer.messageChanged(board.getSquares()[row][col].toString() + " selected.");
+                 selectPiece(board.getSquares()[row][col].getCurrentPiece());
+                 return false;
+            } else if (selectedPiece.getValidMoves().contains(board.getSquares()[row][col])) {
+                // Tries to execute the selected move. If successful, removes the attacked piece from piece list
+                // of the player that did not move this turn.
+                ChessPiece attackedPiece = board.getSquares()[row][col].getCurrentPiece();
+                if (executeMove(row, col, player, newGameState)) {
+                    if (player.getColor() == Color.WHITE) {
+                        player2.removePiece(attackedPiece);
+                    } else if (player.getColor() == Color.BLACK) {
+                        this.player.removePiece(attackedPiece);
+                    }
+                    updatePositionState(player, true);
+                    return true;
+                }
+            }
+        } else if (selectedPiece.getValidMoves().contains(board.getSquares()[row][col])) {
+            // Tries to execute the selected move to the empty square.
+            boolean pawnMove = selectedPiece instanceof Pawn;
+            if (executeMove(row, col, player, newGameState)) {
+                updatePositionState(player, pawnMove);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the side to move, castling rights, en passant square and move clocks of the board's Position after
+     * a player's move has been executed, so that the Position describes the same game as the pieces on the board.
+     *
+     * @param player the player that just moved.
+     * @param resetHalfmoveClock true if the move was a capture or a pawn move.
+     */
+    private void updatePositionState(Player player, boolean resetHalfmoveClock) {
+        Position position = board.getPosition();
+        int castlingRights = 0;
+        int enPassantSquare = Position.NO_SQUARE;
+        Player[] players = {this.player, player2};
+        for (Player p : players) {
+            boolean white = p.getColor() == Color.WHITE;
+            King king = p.getKing();
+            if (!king.getCastleable() || king.getCurrentSquare().getIndex()
+                    != (white ? Position.WHITE_KING_START : Position.BLACK_KING_START)) {
+                continue;
+            }
+            for (int i = 0; i < p.getPieces().size(); i++) {
+                ChessPiece piece = p.getPieces().get(i);
+                if (piece instanceof Rook && ((Rook) piece).getCastleable()) {
+                    int square = piece.getCurrentSquare().getIndex();
+                    if (square == (white ? Position.WHITE_KINGSIDE_ROOK : Position.BLACK_KINGSIDE_ROOK)) {
+                        castlingRights |= white ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+                    } else if (square == (white ? Position.WHITE_QUEENSIDE_ROOK : Position.BLACK_QUEENSIDE_ROOK)) {
+                        castlingRights |= white ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+                    }
+                }
+            }
+        }
+        // Only the player that just moved can have a Pawn that is able to be captured by en passant. The en passant
+        // square is the square that Pawn skipped over, and is only recorded if an opposing Pawn can capture onto it,
+        // as Position.makeMove does.
+        int color = player.getColor().ordinal();
+        for (int i = 0; i < player.getPieces().size(); i++) {
+            ChessPiece piece = player.getPieces().get(i);
+            if (piece instanceof Pawn && ((Pawn) piece).isEnPassantable()) {
+                int square = piece.getCurrentSquare().getIndex();
+                int skipped = player.getColor() == Color.WHITE ? square + 8 : square - 8;
+                if ((Attacks.pawnAttacks(color, skipped) & position.getPieces(color ^ 1, Position.PAWN)) != 0) {
+                    enPassantSquare = skipped;
+                }
+            }
+        }
+        position.setCastlingRights(castlingRights);
+        position.setEnPassantSquare(enPassantSquare);
+        position.setHalfmoveClock(resetHalfmoveClock ? 0 : position.getHalfmoveClock() + 1);
+        if (player.getColor() == Color.BLACK) {
+            position.setFullmoveNumber(position.getFullmoveNumber() + 1);
+            position.setSideToMove(Position.WHITE);
+        } else {
+            position.setSideToMove(Position.BLACK);
+        }
+    }
+
+    /**
+     * Indicates that all remaining pawns for a given player cannot be captured by en passant.
+     *
+     * @param player the Player whose pawns cannot be captured by en passant.
+     */
+    public void resetEnPassant(Player player) {
+        for (int i = 0; i < player.getPieces().size(); i++) {
+            if (player.getPieces().get(i) instanceof Pawn) {
+                int row = player.getPieces().get(i).getCurrentSquare().getRow();
+                int col = player.getPieces().get(i).getCurrentSquare().getCol();
+                ((Pawn) player.getPieces().get(i)).setEnPassant(row, col);
+            }
+        }
+    }
+
+    /**
+     * Executes a given move if the player's King is not in check after the move is executed. Then,
+     * calls for the GUI to update its Button images and game message to reflect the new board state. Finally, it
+     * updates the game state to show that it is the next player's turn. Only updates the GUI and GameState
+     * if the move is executed.
+     *
+     * @param row the row that the selected piece will be moved to.
+     * @param col the column that the selected piece will be moved to.
+     * @param player the player that is moving the selected piece.
+     * @param newGameState new GameState to be switched to if move is executed.
+     * @return true if move is executed, false if not.
+     */
+    public boolean executeMove(int row, int col, Player player, GameState newGameState) {
+        // Simulates the move to see if the current player's King is in check after the move takes place.
+        if (isKingSafe(row, col, player)) {
+            if (selectedPiece instanceof Pawn) { // Indicates that it is no longer the Pawn's first move.
+                                                 // Then checks if the Pawn is able to be en passanted after this move.
+                ((Pawn) selectedPiece).setFirstMove();
+                ((Pawn) selectedPiece).setEnPassant(row, col);
+
+                // Checks if the selected move is an en passant move. If so, updates the square of the captured piece.
+                if (col != selectedPiece.getCurrentSquare().getCol() && !board.getSquares()[row][col].isOccupied()) {
+                    int attackedPieceCol = 0;
+                    if (col == selectedPiece.getCurrentSquare().getCol() - 1) {
+                        attackedPieceCol = -1;
+                    } else if (col == selectedPiece.getCurrentSquare().getCol() + 1) {
+                        attackedPieceCol = 1;
+                    }
+                    Square attackedSquare = board.getSquares()[selectedPiece.getCurrentSquare().getRow()][
+                            selectedPiece.getCurrentSquare().getCol() + attackedPieceCol];
+                    if (player.getColor() == Color.WHITE) {
+                        player2.removePiece(attackedSquare.getCurrentPiece());
+                    } else if (player.getColor() == Color.BLACK) {
+                        this.player.removePiece(attackedSquare.getCurrentPiece());
+                    }
+                    attackedSquare.setOccupiedFalse();
+                    observer.squareChanged(attackedSquare);
+                }
+            }
+            if (selectedPiece instanceof Rook) {
+                int kingRow = player.getKing().getCurrentSquare().getRow();
+                int kingCol = player.getKing().getCurrentSquare().getCol();
+                if (((Rook) selectedPiece).getCastleable() && player.getKing().getCastleable()) {
+                    if (row == kingRow && col == kingCol +1 && !board.getSquares()[kingRow][kingCol + 1].isOccupied()) {
+                        ChessPiece rook = selectedPiece;
+                        selectedPiece = player.getKing();
+                        if (executeMove(kingRow, kingCol + 1, player, gameState)) {
+                            if (executeMove(kingRow, kingCol + 2, player, gameState)) {
+                                selectedPiece = rook;
+                                ((Rook) selectedPiece).setCastleable(false);
+                            } else {
+                                executeMove(kingRow, kingCol, player, gameState);
+                                observer.messageChanged(rook.getCurrentSquare().toString() + " selected.");
+                                player.getKing().setCastleable(true);
+                                selectedPiece = rook;
+                                return false;
+                            }
+                        } else {
+                            selectedPiece = rook;
+                            return false;
+                        }
+                    } else if (row == kingRow && col == kingCol - 1 &&
+                            !board.getSquares()[kingRow][kingCol - 1].isOccupied()) {
+                        ChessPiece rook = selectedPiece;
+                        selectedPiece = player.getKing();
+                        if (executeMove(kingRow, kingCol - 1, player, gameState)) {
+                            if (executeMove(kingRow, kingCol - 2, player, gameState)) {
+                                selectedPiece = rook;
+                                ((Rook) selectedPiece).setCastleable(false);
+                            } else {
+                                executeMove(kingRow, kingCol, player, gameState);
+                                observer.messageChanged(rook.getCurrentSquare().toString() + " selected.");
+                                player.getKing().setCastleable(true);
+                                selectedPiece = rook;
+                                return false;
+                            }
+                        } else {
+                            selectedPiece = rook;
+                            return false;
+                        }
+                    }
+                }
+            }
+            if (selectedPiece instanceof King) {
+                player.getKing().setCastleable(false);
+            } else if (selectedPiece instanceof Rook) {
+                ((Rook) selectedPiece).setCastleable(false); // A Rook that has moved can no longer castle.
+            }
+            Square originalSquare = selectedPiece.getCurrentSquare();
+            originalSquare.setOccupiedFalse();
+            board.getSquares()[row][col].setCurrentPiece(selectedPiece);
+            selectedPiece.setCurrentSquare(board.getSquares()[row][col]);
+            observer.squareChanged(originalSquare);
+            observer.squareChanged(board.getSquares()[row][col]);
+            observer.messageChanged(originalSquare.toString() + " -> " + board.getSquares()[row][col].toString() +
+                    " selected.");
+            this.gameState = newGameState;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Further verifies the legality of a move by checking if the player's King is being attacked
+     * or not after the selected piece makes the valid move. If the King is being attacked, the move cannot
+     * be executed.
+     *
+     * @param row the row that the selected piece will be moved to.
+     * @param col the column that the selected piece will be moved to.
+     * @param player the player that is moving the selected piece.
+     * @return true if King is safe, false if King is not safe.
+     */
+    public boolean isKingSafe(int row, int col, Player player) {
+        return isKingSafe(selectedPiece, row, col, player);
+    }
+
+    /**
+     * Further verifies the legality of a move by checking if the player's King is being attacked
+     * or not after the valid move is completed. If the King is being attacked, the move cannot
+     * be executed.
+     *
+     * Does this without changing the board: the occupancy of the board after the move is computed on the
+     * bitboard Position, and the King's square is then tested with Position.isSquareAttacked, ignoring
+     * any piece that the move captures (including a Pawn captured by en passant).
+     *
+     * @param piece the piece that is being moved.
+     * @param row the row that the piece will be moved to.
+     * @param col the column that the piece will be moved to.
+     * @param player the player that is moving the piece.
+     * @return true if King is safe, false if King is not safe.
+     */
+    public boolean isKingSafe(ChessPiece piece, int row, int col, Player player) {
+        Position position = board.getPosition();
+        int from = piece.getCurrentSquare().getIndex();
+        int to = Position.square(row, col);
+        long captured = 0L;
+        if (position.isOccupied(to)) {
+            captured = 1L << to;
+        } else if (piece instanceof Pawn && col != piece.getCurrentSquare().getCol()) {
+            // A Pawn moving diagonally to an empty square captures by en passant.
+            captured = 1L << Position.square(piece.getCurrentSquare().getRow(), col);
+        }
+        long occupied = (position.getOccupied() & ~(1L << from) & ~captured) | (1L << to);
+        int kingSquare;
+        if (piece instanceof King) {
+            kingSquare = to;
+        } else {
+            kingSquare = player.getKing().getCurrentSquare().getIndex();
+        }
+        int opponent = player.getColor() == Color.WHITE ? Position.BLACK : Position.WHITE;
+        return !position.isSquareAttacked(kingSquare, opponent, occupied, captured);
+    }
+
+    /**
+     * Adds every move the player whose turn it is can make to a MoveList as packed int moves. The moves follow
+     * each piece's movement rules but may leave the player's King in check.
+     * @param moves the MoveList the moves are added to
+     */
+    public void generateMoves(MoveList moves) {
+        MoveGenerator.generatePseudoLegal(board.getPosition(), moves);
+    }
+
+    /**
+     * Adds every legal move of the player whose turn it is to a MoveList as packed int moves.
+     * @param moves the MoveList the moves are added to
+     */
+    public void generateLegalMoves(MoveList moves) {
+        MoveGenerator.generateLegal(board.getPosition(), moves);
+    }
+
+    /**
+     * Returns the state of the game.
+     * @return the GameState
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Returns the 2d array of Squares.
+     * @return the board of Squares
+     */
+    public ChessBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the current position of the game as a FEN string (see Fen).
+     * @return the FEN string
+     */
+    public String toFen() {
+        return Fen.toFen(board.getPosition());
+    }
+
+    /**
+     * Returns the Zobrist key of the current position, which identifies the placement of the pieces, the player
+     * to move, the castling rights and the en passant square. Kept up to date incrementally by the board's Position.
+     * @return the 64-bit key
+     */
+    public long getZobristKey() {
+        return board.getPosition().getKey();
+    }
+
+    /**
+     * Sets the listener, such as the GUI, that is notified of the events of this game.
+     * @param observer the corresponding listener.
+     */
+    public void setObserver(GameListener observer) {
+        this.observer = observer;
+    }
+
+}
@@ -0,0 +1,259 @@
+package chess_game;
+
+/**
+ * Fen reads and writes positions in Forsyth-Edwards Notation, ex: the starting position is
+ * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1". The six fields are the piece placement from a8 to
+ * h1, the side to move, the castling rights, the en passant square, the halfmove clock and the fullmove number.
+ * The two move counters may be left out and default to 0 and 1.
+ *
+ * Like Position.makeMove, an en passant square is only kept if a pawn of the side to move can capture onto it, so
+ * a position read from FEN has the same Zobrist key as the same position reached by making moves. Written FEN
+ * shows the en passant square only in that case too.
+ * @author Riley Muessig
+ */
+public final class Fen {
+
+    /**
+     * FEN of the starting position
+     */
+    public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * FEN letters of each piece code
+     */
+    private static final String PIECE_LETTERS = "PNBRQKpnbrqk";
+
+    /**
+     * FEN letters of each castling rights flag, from WHITE_KINGSIDE to BLACK_QUEENSIDE
+     */
+    private static final String CASTLING_LETTERS = "KQkq";
+
+    /**
+     * Squares of the first and last ranks, where no Pawn can stand
+     */
+    private static final long BACK_RANKS = 0xFF000000000000FFL;
+
+    /**
+     * Fen only holds static methods and cannot be instantiated.
+     */
+    private Fen() {
+    }
+
+    /**
+     * Creates a Position from a FEN string.
+     * @param fen the FEN string
+     * @return the Position
+     * @throws IllegalArgumentException if the FEN string is malformed or describes a position that cannot arise:
+     * either side without exactly one King, a Pawn on the first or last rank, the side not to move in check, or an
+     * en passant square that no double Pawn push could have left
+     */
+    public static Position parse(String fen) {
+        Position position = new Position();
+        int length = fen.length();
+        int i = 0;
+        int row = 0;
+        int col = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (col != 8 || ++row > 7) {
+                    throw new IllegalArgumentException("Row of the wrong length in FEN: " + fen);
+                }
+                col = 0;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+                if (col > 8) {
+                    throw new IllegalArgumentException("Row of the wrong length in FEN: " + fen);
+                }
+            } else {
+                int piece = PIECE_LETTERS.indexOf(c);
+                if (piece < 0 || col >= 8) {
+                    throw new IllegalArgumentException("Bad piece placement in FEN: " + fen);
+                }
+                position.putPiece(Position.square(row, col++), piece);
+            }
+        }
+        if (row != 7 || col != 8) {
+            throw new IllegalArgumentException("Piece placement does not have 8 rows of 8 squares in FEN: " + fen);
+        }
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            if (Long.bitCount(position.getPieces(color, Position.KING)) != 1) {
+                throw new IllegalArgumentException("Each side must have exactly one King in FEN: " + fen);
+            }
+        }
+        long pawns = position.getPieces(Position.WHITE, Position.PAWN)
+                | position.getPieces(Position.BLACK, Position.PAWN);
+        if ((pawns & BACK_RANKS) != 0) {
+            throw new IllegalArgumentException("Pawn on the first or last rank in FEN: " + fen);
+        }
+
+        i = skipSpaces(fen, i);
+        if (i >= length || (fen.charAt(i) != 'w' && fen.charAt(i) != 'b')) {
+            throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+        }
+        position.setSideToMove(fen.charAt(i++) == 'w' ? Position.WHITE : Position.BLACK);
+        int us = position.getSideToMove();
+        if (position.isSquareAttacked(position.getKingSquare(us ^ 1), us)) {
+            throw new IllegalArgumentException("Side not to move is in check in FEN: " + fen);
+        }
+
+        i = skipSpaces(fen, i);
+        int castlingRights = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            int flag = CASTLING_LETTERS.indexOf(fen.charAt(i));
+            if (flag >= 0) {
+                castlingRights |= 1 << flag;
+            } else if (fen.charAt(i) != '-') {
+                throw new IllegalArgumentException("Bad castling rights in FEN: " + fen);
+            }
+        }
+        position.setCastlingRights(castlingRights & possibleCastlingRights(position));
+
+        i = skipSpaces(fen, i);
+        if (i < length && fen.charAt(i) != '-') {
+            // The opponent's last move was a double push, so the square must be on their third rank with their
+            // Pawn just in front of it and both squares it passed over empty
+            char rank = us == Position.WHITE ? '6' : '3';
+            if (i + 1 >= length || fen.charAt(i) < 'a' || fen.charAt(i) > 'h' || fen.charAt(i + 1) != rank) {
+                throw new IllegalArgumentException("Bad en passant square in FEN: " + fen);
+            }
+            int enPassant = Position.square('8' - fen.charAt(i + 1), fen.charAt(i) - 'a');
+            int forward = us == Position.WHITE ? 8 : -8;
+            if (position.getPiece(enPassant + forward) != Position.makePiece(us ^ 1, Position.PAWN)
+                    || position.getPiece(enPassant) != Position.EMPTY
+                    || position.getPiece(enPassant - forward) != Position.EMPTY) {
+                throw new IllegalArgumentException("En passant square without a double Pawn push in FEN: " + fen);
+            }
+            if ((Attacks.pawnAttacks(us ^ 1, enPassant) & position.getPieces(us, Position.PAWN)) != 0) {
+                position.setEnPassantSquare(enPassant);
+            }
+            i += 2;
+        } else {
+            i++;
+        }
+
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            int end = fen.indexOf(' ', i);
+            end = end < 0 ? length : end;
+            position.setHalfmoveClock(parseCounter(fen, i, end));
+            i = skipSpaces(fen, end);
+            if (i < length) {
+                end = fen.indexOf(' ', i);
+                position.setFullmoveNumber(Math.max(parseCounter(fen, i, end < 0 ? length : end), 1));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes a Position as a FEN string.
+     * @param position the position
+     * @return the FEN string
+     */
+    public static String toFen(Position position) {
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                int piece = position.getPiece(Position.square(row, col));
+                if (piece == Position.EMPTY) {
+                    empty++;
+                } else {
+                    if (empty > 0) {
+                        fen.append(empty);
+                        empty = 0;
+                    }
+                    fen.append(PIECE_LETTERS.charAt(piece));
+                }
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (row < 7) {
+                fen.append('/');
+            }
+        }
+        fen.append(position.getSideToMove() == Position.WHITE ? " w " : " b ");
+        int castlingRights = position.getCastlingRights();
+        if (castlingRights == 0) {
+            fen.append('-');
+        }
+        for (int flag = 0; flag < 4; flag++) {
+            if ((castlingRights & (1 << flag)) != 0) {
+                fen.append(CASTLING_LETTERS.charAt(flag));
+            }
+        }
+        int enPassant = position.getEnPassantSquare();
+        if (enPassant == Position.NO_SQUARE) {
+            fen.append(" -");
+        } else {
+            fen.append(' ').append((char) ('a' + enPassant % 8)).append(8 - enPassant / 8);
+        }
+        fen.append(' ').append(position.getHalfmoveClock()).append(' ').append(position.getFullmoveNumber());
+        return fen.toString();
+    }
+
+    /**
+     * Returns the castling rights whose King and Rook are still on their starting squares. FEN strings from other
+     * programs sometimes claim rights that the placement makes impossible.
+     * @param position the position
+     * @return the castling rights flags that are possible
+     */
+    private static int possibleCastlingRights(Position position) {
+        int rights = 0;
+        int whiteKing = Position.makePiece(Position.WHITE, Position.KING);
+        int whiteRook = Position.makePiece(Position.WHITE, Position.ROOK);
+        int blackKing = Position.makePiece(Position.BLACK, Position.KING);
+        int blackRook = Position.makePiece(Position.BLACK, Position.ROOK);
+        if (position.getPiece(Position.WHITE_KING_START) == whiteKing) {
+            if (position.getPiece(Position.WHITE_KINGSIDE_ROOK) == whiteRook) {
+                rights |= Position.WHITE_KINGSIDE;
+            }
+            if (position.getPiece(Position.WHITE_QUEENSIDE_ROOK) == whiteRook) {
+                rights |= Position.WHITE_QUEENSIDE;
+            }
+        }
+        if (position.getPiece(Position.BLACK_KING_START) == blackKing) {
+            if (position.getPiece(Position.BLACK_KINGSIDE_ROOK) == blackRook) {
+                rights |= Position.BLACK_KINGSIDE;
+            }
+            if (position.getPiece(Position.BLACK_QUEENSIDE_ROOK) == blackRook) {
+                rights |= Position.BLACK_QUEENSIDE;
+            }
+        }
+        return rights;
+    }
+
+    /**
+     * Returns the index of the first character at or after an index that is not a space.
+     * @param fen the FEN string
+     * @param index the index to start at
+     * @return the index of the next character that is not a space, or the length of the string
+     */
+    private static int skipSpaces(String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Parses a non-negative move counter.
+     * @param fen the FEN string
+     * @param start the index of the first digit
+     * @param end the index after the last digit
+     * @return the counter
+     */
+    private static int parseCounter(String fen, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100000) {
+                throw new IllegalArgumentException("Bad move counter in FEN: " + fen);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,24 @@
+package chess_game;
+
+/**
+ * GameListener is notified by a ChessGame of events that a view of the game needs to show. Every method does
+ * nothing by default, so a listener only implements the events it cares about, and a ChessGame without a
+ * view can run headless.
+ * @author Riley Muessig
+ */
+public interface GameListener {
+
+    /**
+     * Called when the game has a new message for the players, such as a selected piece or the result of the game.
+     * @param message the message
+     */
+    default void messageChanged(String message) {
+    }
+
+    /**
+     * Called when a piece is placed on or removed from a Square.
+     * @param square the Square that changed
+     */
+    default void squareChanged(Square square) {
+    }
+}
@@ -0,0 +1,109 @@
+package chess_game;
+
+/**
+ * Move holds the static helpers for moves packed into a single int, so that move generation and search never
+ * allocate an object per move.
+ *
+ * Layout of a packed move:
+ * bits 0-5 the from square, bits 6-11 the to square (both as Position square indexes),
+ * bits 12-14 the Position piece type a pawn promotes to (PAWN, which is 0, if the move is not a promotion),
+ * bit 15 CAPTURE, bit 16 EN_PASSANT and bit 17 CASTLE.
+ *
+ * Castling is encoded as the King moving two squares towards the Rook.
+ * @author Riley Muessig
+ */
+public final class Move {
+
+    /**
+     * An empty move. Never a legal move, since its from and to squares are the same.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Move flags
+     */
+    public static final int CAPTURE = 1 << 15;
+    public static final int EN_PASSANT = 1 << 16;
+    public static final int CASTLE = 1 << 17;
+
+    /**
+     * Move only holds static helpers and cannot be instantiated.
+     */
+    private Move() {
+    }
+
+    /**
+     * Packs a move into an int.
+     * @param from the from square
+     * @param to the to square
+     * @param promotion the type a pawn promotes to, or Position.PAWN if the move is not a promotion
+     * @param flags a combination of CAPTURE, EN_PASSANT and CASTLE
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int promotion, int flags) {
+        return from | to << 6 | promotion << 12 | flags;
+    }
+
+    /**
+     * Returns the from square of a move.
+     * @param move the packed move
+     * @return the square index
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Returns the to square of a move.
+     * @param move the packed move
+     * @return the square index
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Returns the type a pawn promotes to with a move.
+     * @param move the packed move
+     * @return the piece type, or Position.PAWN if the move is not a promotion
+     */
+    public static int promotion(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * Returns true if a move captures a piece, including by en passant.
+     * @param move the packed move
+     * @return whether or not the move is a capture
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * Returns true if a move is an en passant capture.
+     * @param move the packed move
+     * @return whether or not the move is en passant
+     */
+    public static boolean isEnPassant(int move) {
+        return (move & EN_PASSANT) != 0;
+    }
+
+    /**
+     * Returns true if a move is castling.
+     * @param move the packed move
+     * @return whether or not the move is castling
+     */
+    public static boolean isCastle(int move) {
+        return (move & CASTLE) != 0;
+    }
+
+    /**
+     * Returns true if a move promotes a pawn.
+     * @param move the packed move
+     * @return whether or not the move is a promotion
+     */
+    public static boolean isPromotion(int move) {
+        return promotion(move) != Position.PAWN;
+    }
+}
@@ -0,0 +1,371 @@
+package chess_game;
+
+/**
+ * MoveGenerator finds the moves available in a Position and writes them as packed int moves (see Move) into a
+ * MoveList. Targets are computed from the bitboards and the precomputed Attacks tables, so generation does not
+ * allocate.
+ *
+ * generateLegal produces only legal moves. It computes the pieces giving check, a check mask of the squares that
+ * capture or block the check, and the pieces pinned to their King once per position, then restricts every
+ * piece's targets by them, so no move ever has to be tried on the board. generateLegalCaptures and
+ * generateLegalQuiets split the same moves in two, captures and promotions on one side and every other move on
+ * the other, so that a search can generate the quiet moves only if the captures did not cause a cutoff.
+ *
+ * generatePseudoLegal and generatePieceMoves produce pseudo-legal moves: every move follows the movement rules
+ * of its piece, but a move may still leave the mover's own King in check. In both cases castling moves are only
+ * generated when the King is not in check and does not pass through or land on an attacked square.
+ * @author Riley Muessig
+ */
+public final class MoveGenerator {
+
+    /**
+     * The promotion types generated for a pawn reaching the last row, most valuable first.
+     */
+    private static final int[] PROMOTIONS = {Position.QUEEN, Position.ROOK, Position.BISHOP, Position.KNIGHT};
+
+    /**
+     * Kinds of moves a generation produces: captures and promotions, and every other move
+     */
+    private static final int TACTICAL = 1;
+    private static final int QUIET = 2;
+
+    /**
+     * Squares of the first and last rows, where a pawn that arrives promotes
+     */
+    private static final long PROMOTION_ROWS = 0xFF000000000000FFL;
+
+    /**
+     * MoveGenerator only holds static methods and cannot be instantiated.
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * Adds every legal move of the side to move to a list.
+     * @param position the position
+     * @param moves the list the moves are added to
+     */
+    public static void generateLegal(Position position, MoveList moves) {
+        generate(position, moves, TACTICAL | QUIET);
+    }
+
+    /**
+     * Adds every legal capture and promotion of the side to move to a list, including en passant captures and
+     * promotions that capture nothing.
+     * @param position the position
+     * @param moves the list the moves are added to
+     */
+    public static void generateLegalCaptures(Position position, MoveList moves) {
+        generate(position, moves, TACTICAL);
+    }
+
+    /**
+     * Adds every legal move of the side to move that is neither a capture nor a promotion to a list, including
+     * castling moves.
+     * @param position the position
+     * @param moves the list the moves are added to
+     */
+    public static void generateLegalQuiets(Position position, MoveList moves) {
+        generate(position, moves, QUIET);
+    }
+
+    /**
+     * Adds the legal moves of some kinds to a list.
+     * @param position the position
+     * @param moves the list the moves are added to
+     * @param kinds TACTICAL, QUIET or both
+     */
+    private static void generate(Position position, MoveList moves, int kinds) {
+        int us = position.getSideToMove();
+        int them = us ^ 1;
+        int king = position.getKingSquare(us);
+        long own = position.getColorOccupancy(us);
+        long enemies = position.getColorOccupancy(them);
+        long occupied = position.getOccupied();
+        long checkers = attackersTo(position, king, them, occupied);
+        // Target squares of each kind. A pawn move is a promotion by the row it lands on rather than by its target.
+        long pieceKinds = ((kinds & TACTICAL) != 0 ? enemies : 0L) | ((kinds & QUIET) != 0 ? ~occupied : 0L);
+        long pawnKinds = ((kinds & TACTICAL) != 0 ? enemies | PROMOTION_ROWS : 0L)
+                | ((kinds & QUIET) != 0 ? ~occupied & ~PROMOTION_ROWS : 0L);
+
+        // The King may move to any square that is not attacked once it has left its current square, which
+        // stops it from stepping backwards along the line of a sliding piece that is checking it.
+        long kingTargets = Attacks.kingAttacks(king) & ~own & pieceKinds;
+        long withoutKing = occupied & ~(1L << king);
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            if (!position.isSquareAttacked(to, them, withoutKing, 0L)) {
+                int flags = (enemies & (1L << to)) != 0 ? Move.CAPTURE : 0;
+                moves.add(Move.encode(king, to, Position.PAWN, flags));
+            }
+            kingTargets &= kingTargets - 1;
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return; // Only the King can escape a double check.
+        }
+
+        // Other pieces must capture the checking piece or block its line to the King.
+        long checkMask = -1L;
+        if (checkers != 0) {
+            checkMask = checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        } else if ((kinds & QUIET) != 0) {
+            addCastlingMoves(position, us, moves);
+        }
+        long pinned = pinnedPieces(position, us, king);
+
+        long pieces = own & ~(1L << king);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long targets = ~own & checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                targets &= Attacks.line(king, from); // A pinned piece may only move along its pin.
+            }
+            switch (Position.pieceType(position.getPiece(from))) {
+                case Position.PAWN:
+                    addPawnMoves(position, from, us, targets & pawnKinds, moves);
+                    if ((kinds & TACTICAL) != 0) {
+                        addLegalEnPassant(position, from, us, king, moves);
+                    }
+                    break;
+                case Position.KNIGHT:
+                    addMoves(position, from, Attacks.knightAttacks(from) & targets & pieceKinds, moves);
+                    break;
+                case Position.BISHOP:
+                    addMoves(position, from, Attacks.bishopAttacks(from, occupied) & targets & pieceKinds, moves);
+                    break;
+                case Position.ROOK:
+                    addMoves(position, from, Attacks.rookAttacks(from, occupied) & targets & pieceKinds, moves);
+                    break;
+                case Position.QUEEN:
+                    addMoves(position, from, Attacks.queenAttacks(from, occupied) & targets & pieceKinds, moves);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns the pieces of a color that attack a square.
+     * @param position the position
+     * @param square the square index
+     * @param color the color of the attacking pieces
+     * @param occupied bitboard of every occupied square
+     * @return bitboard of the attacking pieces
+     */
+    public static long attackersTo(Position position, int square, int color, long occupied) {
+        long queens = position.getPieces(color, Position.QUEEN);
+        return (Attacks.pawnAttacks(color ^ 1, square) & position.getPieces(color, Position.PAWN))
+                | (Attacks.knightAttacks(square) & position.getPieces(color, Position.KNIGHT))
+                | (Attacks.kingAttacks(square) & position.getPieces(color, Position.KING))
+                | (Attacks.bishopAttacks(square, occupied) & (position.getPieces(color, Position.BISHOP) | queens))
+                | (Attacks.rookAttacks(square, occupied) & (position.getPieces(color, Position.ROOK) | queens));
+    }
+
+    /**
+     * Returns the pieces of a color that are pinned to their King: pieces that are the only piece between
+     * the King and an enemy slider that would otherwise attack it.
+     * @param position the position
+     * @param color the color of the King
+     * @param king the square of the King
+     * @return bitboard of the pinned pieces
+     */
+    public static long pinnedPieces(Position position, int color, int king) {
+        int them = color ^ 1;
+        long enemies = position.getColorOccupancy(them);
+        long queens = position.getPieces(them, Position.QUEEN);
+        // Sliders that would attack the King if none of the King's own pieces were in the way.
+        long snipers = (Attacks.rookAttacks(king, enemies) & (position.getPieces(them, Position.ROOK) | queens))
+                | (Attacks.bishopAttacks(king, enemies) & (position.getPieces(them, Position.BISHOP) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & position.getOccupied();
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & position.getColorOccupancy(color);
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    /**
+     * Adds every pseudo-legal move of the side to move to a list.
+     * @param position the position
+     * @param moves the list the moves are added to
+     */
+    public static void generatePseudoLegal(Position position, MoveList moves) {
+        long pieces = position.getColorOccupancy(position.getSideToMove());
+        while (pieces != 0) {
+            generatePieceMoves(position, Long.numberOfTrailingZeros(pieces), moves);
+            pieces &= pieces - 1;
+        }
+    }
+
+    /**
+     * Adds every pseudo-legal move of the piece on a square to a list.
+     * @param position the position
+     * @param from the square of the piece
+     * @param moves the list the moves are added to
+     */
+    public static void generatePieceMoves(Position position, int from, MoveList moves) {
+        int piece = position.getPiece(from);
+        if (piece == Position.EMPTY) {
+            return;
+        }
+        int color = Position.pieceColor(piece);
+        long targets = ~position.getColorOccupancy(color);
+        switch (Position.pieceType(piece)) {
+            case Position.PAWN:
+                addPawnMoves(position, from, color, targets, moves);
+                addEnPassant(position, from, color, moves);
+                break;
+            case Position.KNIGHT:
+                addMoves(position, from, Attacks.knightAttacks(from) & targets, moves);
+                break;
+            case Position.BISHOP:
+                addMoves(position, from, Attacks.bishopAttacks(from, position.getOccupied()) & targets, moves);
+                break;
+            case Position.ROOK:
+                addMoves(position, from, Attacks.rookAttacks(from, position.getOccupied()) & targets, moves);
+                break;
+            case Position.QUEEN:
+                addMoves(position, from, Attacks.queenAttacks(from, position.getOccupied()) & targets, moves);
+                break;
+            case Position.KING:
+                addMoves(position, from, Attacks.kingAttacks(from) & targets, moves);
+                addCastlingMoves(position, color, moves);
+                break;
+        }
+    }
+
+    /**
+     * Adds a move from a square to each target square, flagging moves onto occupied squares as captures.
+     * @param position the position
+     * @param from the square of the moving piece
+     * @param targets bitboard of the destination squares
+     * @param moves the list the moves are added to
+     */
+    static void addMoves(Position position, int from, long targets, MoveList moves) {
+        long captures = targets & position.getOccupied();
+        long quiets = targets & ~captures;
+        while (captures != 0) {
+            moves.add(Move.encode(from, Long.numberOfTrailingZeros(captures), Position.PAWN, Move.CAPTURE));
+            captures &= captures - 1;
+        }
+        while (quiets != 0) {
+            moves.add(Move.encode(from, Long.numberOfTrailingZeros(quiets), Position.PAWN, 0));
+            quiets &= quiets - 1;
+        }
+    }
+
+    /**
+     * Adds the pushes and captures of a pawn, other than en passant captures.
+     * @param position the position
+     * @param from the square of the pawn
+     * @param color the color of the pawn
+     * @param targets bitboard of the destination squares that are allowed
+     * @param moves the list the moves are added to
+     */
+    static void addPawnMoves(Position position, int from, int color, long targets, MoveList moves) {
+        int forward = color == Position.WHITE ? -8 : 8;
+        int startRow = color == Position.WHITE ? 6 : 1;
+        int to = from + forward;
+        if (!position.isOccupied(to)) {
+            if ((targets & (1L << to)) != 0) {
+                addPawnMove(from, to, 0, moves);
+            }
+            int doubleTo = to + forward;
+            if (from / 8 == startRow && !position.isOccupied(doubleTo) && (targets & (1L << doubleTo)) != 0) {
+                moves.add(Move.encode(from, doubleTo, Position.PAWN, 0));
+            }
+        }
+        long attacks = Attacks.pawnAttacks(color, from);
+        long captures = attacks & position.getColorOccupancy(color ^ 1) & targets;
+        while (captures != 0) {
+            addPawnMove(from, Long.numberOfTrailingZeros(captures), Move.CAPTURE, moves);
+            captures &= captures - 1;
+        }
+    }
+
+    /**
+     * Adds the en passant capture of a pawn, if it attacks the en passant square.
+     * @param position the position
+     * @param from the square of the pawn
+     * @param color the color of the pawn
+     * @param moves the list the moves are added to
+     */
+    private static void addEnPassant(Position position, int from, int color, MoveList moves) {
+        int to = position.getEnPassantSquare();
+        if (to != Position.NO_SQUARE && (Attacks.pawnAttacks(color, from) & (1L << to)) != 0) {
+            moves.add(Move.encode(from, to, Position.PAWN, Move.CAPTURE | Move.EN_PASSANT));
+        }
+    }
+
+    /**
+     * Adds the en passant capture of a pawn if it is legal. En passant removes two pawns from the same row at
+     * once, which can uncover an attack on the King that no pin or check mask describes, so the King's safety is
+     * tested directly on the occupancy after the capture.
+     * @param position the position
+     * @param from the square of the pawn
+     * @param color the color of the pawn
+     * @param king the square of the pawn's King
+     * @param moves the list the moves are added to
+     */
+    private static void addLegalEnPassant(Position position, int from, int color, int king, MoveList moves) {
+        int to = position.getEnPassantSquare();
+        if (to == Position.NO_SQUARE || (Attacks.pawnAttacks(color, from) & (1L << to)) == 0) {
+            return;
+        }
+        long captured = 1L << Position.square(from / 8, to % 8);
+        long occupied = (position.getOccupied() & ~(1L << from) & ~captured) | (1L << to);
+        if (!position.isSquareAttacked(king, color ^ 1, occupied, captured)) {
+            moves.add(Move.encode(from, to, Position.PAWN, Move.CAPTURE | Move.EN_PASSANT));
+        }
+    }
+
+    /**
+     * Adds a single pawn move, expanded into one move per promotion type if the pawn reaches the last row.
+     * @param from the square of the pawn
+     * @param to the destination square
+     * @param flags the move flags
+     * @param moves the list the moves are added to
+     */
+    private static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        if (to < 8 || to >= 56) {
+            for (int promotion : PROMOTIONS) {
+                moves.add(Move.encode(from, to, promotion, flags));
+            }
+        } else {
+            moves.add(Move.encode(from, to, Position.PAWN, flags));
+        }
+    }
+
+    /**
+     * Adds the castling moves available to a color. The King must not be in check, the squares between the King
+     * and Rook must be empty, and the squares the King passes through and lands on must not be attacked.
+     * @param position the position
+     * @param color the color of the castling King
+     * @param moves the list the moves are added to
+     */
+    static void addCastlingMoves(Position position, int color, MoveList moves) {
+        int rights = position.getCastlingRights();
+        int king = color == Position.WHITE ? Position.WHITE_KING_START : Position.BLACK_KING_START;
+        int kingside = color == Position.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+        int queenside = color == Position.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        if ((rights & (kingside | queenside)) == 0 || position.getKingSquare(color) != king) {
+            return;
+        }
+        int enemy = color ^ 1;
+        if (position.isSquareAttacked(king, enemy)) {
+            return;
+        }
+        long occupied = position.getOccupied();
+        if ((rights & kingside) != 0 && (occupied & (3L << (king + 1))) == 0
+                && !position.isSquareAttacked(king + 1, enemy) && !position.isSquareAttacked(king + 2, enemy)) {
+            moves.add(Move.encode(king, king + 2, Position.PAWN, Move.CASTLE));
+        }
+        if ((rights & queenside) != 0 && (occupied & (7L << (king - 3))) == 0
+                && !position.isSquareAttacked(king - 1, enemy) && !position.isSquareAttacked(king - 2, enemy)) {
+            moves.add(Move.encode(king, king - 2, Position.PAWN, Move.CASTLE));
+        }
+    }
+}
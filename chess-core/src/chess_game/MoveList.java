@@ -0,0 +1,88 @@
+package chess_game;
+
+/**
+ * MoveList is a fixed-capacity list of packed int moves (see Move). It is backed by a plain int array that is
+ * allocated once, so a MoveList can be cleared and reused for every position at a given search depth without
+ * any allocation or resizing.
+ * @author Riley Muessig
+ */
+public class MoveList {
+
+    /**
+     * The maximum number of moves in a list. No legal chess position has more than 218 moves.
+     */
+    public static final int CAPACITY = 256;
+
+    /**
+     * The packed moves
+     */
+    private final int[] moves;
+
+    /**
+     * The number of moves in the list
+     */
+    private int size;
+
+    /**
+     * Constructor for an empty MoveList.
+     */
+    public MoveList() {
+        moves = new int[CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds a move to the end of this list.
+     * @param move the packed move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Returns the move at an index.
+     * @param index the index of the move
+     * @return the packed move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at an index.
+     * @param index the index of the move
+     * @param move the packed move
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Returns the number of moves in this list.
+     * @return the size of this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every move from this list.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns true if this list holds a move.
+     * @param move the packed move
+     * @return whether or not the move is in this list
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,177 @@
+package chess_game;
+
+import notation.MoveCodec;
+import search.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft (performance test) counts the leaf nodes of the legal move tree of a position to a fixed depth. The counts
+ * are known for many positions, so perft is both the correctness check for the move generator's castling, en
+ * passant and promotion rules and the standard benchmark of its speed.
+ *
+ * In divide mode the count is split by root move, and the root moves are searched in parallel on a ForkJoinPool,
+ * each on its own copy of the position. Subtree counts can optionally be memoized in a hash table shared by
+ * every thread, keyed by the position's Zobrist key.
+ *
+ * Usage: Perft depth [-threads n] [-hash megabytes] [-fen "fen"]
+ * @author Riley Muessig
+ */
+public class Perft {
+
+    /**
+     * Table of subtree counts, each stored as count << 8 | depth, or null if counts are not memoized.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * Constructor for Perft.
+     * @param hashMegabytes size of the table of subtree counts, or 0 to not memoize counts
+     */
+    public Perft(int hashMegabytes) {
+        if (hashMegabytes > 0) {
+            table = new TranspositionTable(hashMegabytes);
+        } else {
+            table = null;
+        }
+    }
+
+    /**
+     * Counts the leaf nodes of a position to a given depth on the calling thread.
+     * @param position the position, which is returned unchanged
+     * @param depth the depth in plies
+     * @return the number of leaf nodes
+     */
+    public long perft(Position position, int depth) {
+        MoveList[] moveLists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return count(position, depth, moveLists);
+    }
+
+    /**
+     * Counts the leaf nodes below each root move of a position, splitting the root moves across a ForkJoinPool.
+     * @param position the position, which is returned unchanged
+     * @param depth the depth in plies, at least 1
+     * @param pool the pool that searches the root moves
+     * @param rootMoves filled with the legal root moves
+     * @return the number of leaf nodes below each root move, in the same order as rootMoves
+     */
+    public long[] divide(Position position, int depth, ForkJoinPool pool, MoveList rootMoves) {
+        rootMoves.clear();
+        MoveGenerator.generateLegal(position, rootMoves);
+        List<RecursiveTask<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected Long compute() {
+                    Position copy = new Position(position);
+                    copy.makeMove(move);
+                    return perft(copy, depth - 1);
+                }
+            });
+        }
+        long[] counts = new long[rootMoves.size()];
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tasks.get(i).join();
+        }
+        return counts;
+    }
+
+    /**
+     * Recursively counts leaf nodes. At depth 1 the number of legal moves is the count, so the last ply is never
+     * made on the board.
+     * @param position the position
+     * @param depth the remaining depth
+     * @param moveLists one reusable MoveList per remaining ply
+     * @return the number of leaf nodes
+     */
+    private long count(Position position, int depth, MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1;
+        }
+        long key = 0L;
+        if (table != null && depth > 1) {
+            key = position.getKey();
+            long stored = table.probe(key);
+            if (stored != TranspositionTable.MISS && (stored & 0xFF) == depth) {
+                return stored >>> 8;
+            }
+        }
+        MoveList moves = moveLists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegal(position, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += count(position, depth - 1, moveLists);
+            position.unmakeMove();
+        }
+        if (table != null) {
+            table.put(key, nodes << 8 | depth);
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft in divide mode from the starting position or a FEN position and prints the count of each root
+     * move, the total and the speed in nodes per second.
+     * @param args the depth, optionally followed by -threads n, -hash megabytes and -fen followed by a quoted FEN
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: Perft depth [-threads n] [-hash megabytes] [-fen \"fen\"]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hashMegabytes = 0;
+        String fen = Fen.STARTING_POSITION;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].equals("-threads")) {
+                threads = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("-hash")) {
+                hashMegabytes = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("-fen")) {
+                fen = args[i + 1];
+            }
+        }
+        Position position = Fen.parse(fen);
+        Perft perft = new Perft(hashMegabytes);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        MoveList rootMoves = new MoveList();
+
+        long start = System.nanoTime();
+        long[] counts = perft.divide(position, depth, pool, rootMoves);
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        pool.shutdown();
+
+        long total = 0;
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            line.setLength(0);
+            MoveCodec.appendUci(rootMoves.get(i), line);
+            System.out.println(line.append(": ").append(counts[i]));
+            total += counts[i];
+        }
+        System.out.println();
+        System.out.println("Nodes searched: " + total);
+        System.out.println("Time: " + elapsed / 1000000 + " ms");
+        System.out.println("Nodes per second: " + total * 1000000000L / elapsed);
+    }
+}
@@ -7,13 +7,11 @@ import java.util.ArrayList;
 
 /**
  * Represents a Chess player. A player can only control the pieces that
- * have a corresponding Color.
+ * have a corresponding Color. In a timed game the player also has a ChessClock.
  * @author Riley Muessig
  */
 public class Player {
 
-    // TODO: Add a timer to Player class after finishing the game.
-
     /**
      * Color of the pieces this player can control
      */
@@ -29,6 +27,11 @@ public class Player {
      */
     private King king;
 
+    /**
+     * This player's clock, or null if the game is not timed.
+     */
+    private ChessClock clock;
+
     /**
      * Constructor for Player.
      * @param color color of this player's pieces
@@ -71,6 +74,22 @@ public class Player {
         return pieces;
     }
 
+    /**
+     * Returns this player's clock.
+     * @return the ChessClock, or null if the game is not timed
+     */
+    public ChessClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets this player's clock.
+     * @param clock the ChessClock, or null for an untimed game
+     */
+    public void setClock(ChessClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Returns this player's piece color.
      * @return the color of this player's pieces.
@@ -0,0 +1,705 @@
+package chess_game;
+
+import java.util.Arrays;
+
+/**
+ * Position is the compact core representation of the chess board. It stores the placement of every piece
+ * as twelve 64-bit bitboards (one per piece type and color), plus an occupancy bitboard for each color and
+ * one for the whole board. ChessBoard and Square are views over a Position, so the GUI can keep working with
+ * Squares and ChessPieces while move generation and attack tests work directly on primitive longs.
+ *
+ * Squares are indexed from 0 to 63 as row * 8 + col, using the same row and column layout as
+ * ChessBoard's 2d array of Squares. Index 0 is a8 (top left) and index 63 is h1 (bottom right).
+ *
+ * A piece is encoded as a single int: color * 6 + type, where color is WHITE or BLACK and type is one of
+ * PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING.
+ *
+ * Besides piece placement, a Position keeps the side to move, castling rights, en passant square and move
+ * clocks, and can make and unmake moves. makeMove pushes a compact undo record onto a preallocated stack and
+ * unmakeMove pops it, restoring the position exactly.
+ *
+ * A Position also keeps a 64-bit Zobrist key of its pieces and state (see Zobrist), updated incrementally
+ * whenever a piece is placed or removed, a move is made or unmade, or the state is changed. An en passant
+ * square is only recorded after a move when an enemy pawn stands ready to capture onto it, so positions that
+ * differ only by an unusable en passant square share the same key. Making moves on the Position of a ChessBoard
+ * changes what its Squares report as occupied, so every made move must be unmade before the board is used again.
+ *
+ * A second key covers only the pawns, so that pawn structure can be cached by it (most moves do not move a pawn).
+ * In the same way it keeps the middlegame and endgame piece-square sums and the game phase (see
+ * PieceSquareTables), so that evaluating a position never needs a scan of the board.
+ * @author Riley Muessig
+ */
+public class Position {
+
+    /**
+     * Piece types
+     */
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    /**
+     * Piece colors. These match the ordinals of the Color enum.
+     */
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    /**
+     * Marks a square that holds no piece.
+     */
+    public static final int EMPTY = -1;
+
+    /**
+     * Marks the absence of an en passant square.
+     */
+    public static final int NO_SQUARE = 64;
+
+    /**
+     * Castling rights flags.
+     */
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    /**
+     * Starting squares of the kings and rooks.
+     */
+    public static final int WHITE_KING_START = 60;
+    public static final int BLACK_KING_START = 4;
+    public static final int WHITE_KINGSIDE_ROOK = 63;
+    public static final int WHITE_QUEENSIDE_ROOK = 56;
+    public static final int BLACK_KINGSIDE_ROOK = 7;
+    public static final int BLACK_QUEENSIDE_ROOK = 0;
+
+    /**
+     * Initial capacity of the undo stack. Deeper than any search, and grown if a replayed game is longer.
+     */
+    private static final int UNDO_CAPACITY = 1024;
+
+    /**
+     * Castling rights kept after a move from or to each square. A king or rook leaving its starting square,
+     * or a rook being captured on it, removes the matching rights.
+     */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            CASTLING_MASK[square] = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+        }
+        CASTLING_MASK[WHITE_KING_START] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASK[BLACK_KING_START] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASK[WHITE_KINGSIDE_ROOK] &= ~WHITE_KINGSIDE;
+        CASTLING_MASK[WHITE_QUEENSIDE_ROOK] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASK[BLACK_KINGSIDE_ROOK] &= ~BLACK_KINGSIDE;
+        CASTLING_MASK[BLACK_QUEENSIDE_ROOK] &= ~BLACK_QUEENSIDE;
+    }
+
+    /**
+     * One bitboard for each of the twelve colored piece types, indexed by piece code.
+     */
+    private final long[] pieceBitboards;
+
+    /**
+     * One bitboard for all the pieces of each color.
+     */
+    private final long[] colorBitboards;
+
+    /**
+     * Bitboard of every occupied square.
+     */
+    private long occupied;
+
+    /**
+     * The piece code on each square, or EMPTY. Allows constant time lookups of which piece is on a square.
+     */
+    private final int[] mailbox;
+
+    /**
+     * The color whose turn it is.
+     */
+    private int sideToMove;
+
+    /**
+     * The castling rights flags that are still available.
+     */
+    private int castlingRights;
+
+    /**
+     * The square a pawn skipped over with a two square move on the last turn, or NO_SQUARE.
+     */
+    private int enPassantSquare;
+
+    /**
+     * The number of moves since the last capture or pawn move.
+     */
+    private int halfmoveClock;
+
+    /**
+     * The move number, starting at 1 and increased after every move by black.
+     */
+    private int fullmoveNumber;
+
+    /**
+     * The Zobrist key of this position.
+     */
+    private long key;
+
+    /**
+     * The Zobrist key of the pawns of this position.
+     */
+    private long pawnKey;
+
+    /**
+     * Sums of the middlegame and endgame values of every piece on its square, from white's point of view, and
+     * the game phase. See PieceSquareTables.
+     */
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+
+    /**
+     * Stack of undo records for the moves that have been made. See makeMove for the record layout.
+     */
+    private long[] undoStack;
+
+    /**
+     * The number of records on the undo stack.
+     */
+    private int undoSize;
+
+    /**
+     * The Zobrist key before each move on the undo stack, so unmakeMove can restore it directly.
+     */
+    private long[] keyStack;
+
+    /**
+     * Constructor for an empty Position with white to move and no castling rights.
+     */
+    public Position() {
+        pieceBitboards = new long[12];
+        colorBitboards = new long[2];
+        occupied = 0L;
+        mailbox = new int[64];
+        for (int square = 0; square < 64; square++) {
+            mailbox[square] = EMPTY;
+        }
+        sideToMove = WHITE;
+        castlingRights = 0;
+        enPassantSquare = NO_SQUARE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        key = 0L;
+        pawnKey = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        undoStack = new long[UNDO_CAPACITY];
+        undoSize = 0;
+        keyStack = new long[UNDO_CAPACITY];
+    }
+
+    /**
+     * Copy constructor. The copy has the same pieces, game state and move history as the original, and can be
+     * searched independently (for example by another thread).
+     * @param other the Position to copy
+     */
+    public Position(Position other) {
+        pieceBitboards = other.pieceBitboards.clone();
+        colorBitboards = other.colorBitboards.clone();
+        occupied = other.occupied;
+        mailbox = other.mailbox.clone();
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        key = other.key;
+        pawnKey = other.pawnKey;
+        middlegameScore = other.middlegameScore;
+        endgameScore = other.endgameScore;
+        phase = other.phase;
+        undoStack = other.undoStack.clone();
+        undoSize = other.undoSize;
+        keyStack = other.keyStack.clone();
+    }
+
+    /**
+     * Returns the piece code for a piece of the given color and type.
+     * @param color WHITE or BLACK
+     * @param type the type of the piece
+     * @return the piece code
+     */
+    public static int makePiece(int color, int type) {
+        return color * 6 + type;
+    }
+
+    /**
+     * Returns the type of a piece code.
+     * @param piece the piece code
+     * @return PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING
+     */
+    public static int pieceType(int piece) {
+        return piece % 6;
+    }
+
+    /**
+     * Returns the color of a piece code.
+     * @param piece the piece code
+     * @return WHITE or BLACK
+     */
+    public static int pieceColor(int piece) {
+        return piece / 6;
+    }
+
+    /**
+     * Returns the square index of the given row and column.
+     * ex: row 7, col 4 (e1) is square 60.
+     *
+     * @param row the row of the square
+     * @param col the column of the square
+     * @return the square index
+     */
+    public static int square(int row, int col) {
+        return row * 8 + col;
+    }
+
+    /**
+     * Places a piece on a square, replacing the piece that was on it before (if any).
+     * @param square the square index
+     * @param piece the piece code
+     */
+    public void putPiece(int square, int piece) {
+        if (mailbox[square] != EMPTY) {
+            removePiece(square);
+        }
+        long bit = 1L << square;
+        pieceBitboards[piece] |= bit;
+        colorBitboards[pieceColor(piece)] |= bit;
+        occupied |= bit;
+        mailbox[square] = piece;
+        key ^= Zobrist.piece(piece, square);
+        if (pieceType(piece) == PAWN) {
+            pawnKey ^= Zobrist.piece(piece, square);
+        }
+        middlegameScore += PieceSquareTables.middlegame(piece, square);
+        endgameScore += PieceSquareTables.endgame(piece, square);
+        phase += PieceSquareTables.phase(piece);
+    }
+
+    /**
+     * Removes the piece on a square, if any.
+     * @param square the square index
+     */
+    public void removePiece(int square) {
+        int piece = mailbox[square];
+        if (piece == EMPTY) {
+            return;
+        }
+        long bit = 1L << square;
+        pieceBitboards[piece] &= ~bit;
+        colorBitboards[pieceColor(piece)] &= ~bit;
+        occupied &= ~bit;
+        mailbox[square] = EMPTY;
+        key ^= Zobrist.piece(piece, square);
+        if (pieceType(piece) == PAWN) {
+            pawnKey ^= Zobrist.piece(piece, square);
+        }
+        middlegameScore -= PieceSquareTables.middlegame(piece, square);
+        endgameScore -= PieceSquareTables.endgame(piece, square);
+        phase -= PieceSquareTables.phase(piece);
+    }
+
+    /**
+     * Returns the piece code on a square.
+     * @param square the square index
+     * @return the piece code, or EMPTY if the square is not occupied
+     */
+    public int getPiece(int square) {
+        return mailbox[square];
+    }
+
+    /**
+     * Returns true if a square is occupied by any piece.
+     * @param square the square index
+     * @return whether or not the square is occupied
+     */
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    /**
+     * Returns the bitboard of a single colored piece type.
+     * @param piece the piece code
+     * @return bitboard of every square holding that piece
+     */
+    public long getPieces(int piece) {
+        return pieceBitboards[piece];
+    }
+
+    /**
+     * Returns the bitboard of a piece type of a given color.
+     * @param color WHITE or BLACK
+     * @param type the type of the piece
+     * @return bitboard of every square holding that piece
+     */
+    public long getPieces(int color, int type) {
+        return pieceBitboards[makePiece(color, type)];
+    }
+
+    /**
+     * Returns the bitboard of all pieces of a color.
+     * @param color WHITE or BLACK
+     * @return bitboard of every square holding a piece of that color
+     */
+    public long getColorOccupancy(int color) {
+        return colorBitboards[color];
+    }
+
+    /**
+     * Returns the bitboard of every occupied square.
+     * @return the occupancy bitboard
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Returns the square of the King of a color.
+     * @param color WHITE or BLACK
+     * @return the square index of the King
+     */
+    public int getKingSquare(int color) {
+        return Long.numberOfTrailingZeros(pieceBitboards[makePiece(color, KING)]);
+    }
+
+    /**
+     * Returns true if a square is attacked by any piece of a color in this position.
+     * @param square the square index
+     * @param byColor the color of the attacking pieces
+     * @return whether or not the square is attacked
+     */
+    public boolean isSquareAttacked(int square, int byColor) {
+        return isSquareAttacked(square, byColor, occupied, 0L);
+    }
+
+    /**
+     * Returns true if a square is attacked by any piece of a color, given an occupancy that may differ from the
+     * one in this position. Allows the legality of a move to be tested without making it: the caller passes the
+     * occupancy after the move and the squares of any attacking pieces the move would capture.
+     *
+     * Works backwards from the attacked square: a square is attacked by a knight if a knight stands on a square a
+     * knight jump away, by a rook or queen if one stands on a square a rook would attack from here, and so on.
+     * Does not allocate and does not change this position.
+     *
+     * @param square the square index
+     * @param byColor the color of the attacking pieces
+     * @param occupied bitboard of every occupied square
+     * @param removed bitboard of squares whose pieces should not be counted as attackers
+     * @return whether or not the square is attacked
+     */
+    public boolean isSquareAttacked(int square, int byColor, long occupied, long removed) {
+        int offset = byColor * 6;
+        long allowed = ~removed;
+        if ((Attacks.pawnAttacks(byColor ^ 1, square) & pieceBitboards[offset + PAWN] & allowed) != 0) {
+            return true;
+        }
+        if ((Attacks.knightAttacks(square) & pieceBitboards[offset + KNIGHT] & allowed) != 0) {
+            return true;
+        }
+        if ((Attacks.kingAttacks(square) & pieceBitboards[offset + KING]) != 0) {
+            return true;
+        }
+        long queens = pieceBitboards[offset + QUEEN];
+        if ((Attacks.bishopAttacks(square, occupied) & (pieceBitboards[offset + BISHOP] | queens) & allowed) != 0) {
+            return true;
+        }
+        return (Attacks.rookAttacks(square, occupied) & (pieceBitboards[offset + ROOK] | queens) & allowed) != 0;
+    }
+
+    /**
+     * Makes a packed move (see Move) on this position. See makeMove(int, int, int).
+     * @param move the packed move
+     */
+    public void makeMove(int move) {
+        makeMove(Move.from(move), Move.to(move), Move.promotion(move));
+    }
+
+    /**
+     * Makes a move on this position and pushes an undo record so it can be taken back with unmakeMove.
+     * The move is assumed to be legal. Handles captures, en passant, castling (given as the King moving
+     * two squares) and promotion, and updates the side to move, castling rights, en passant square and
+     * move clocks.
+     *
+     * The undo record packs the move, the captured piece and the state that cannot be recomputed
+     * into a single long:
+     * bits 0-5 from square, 6-11 to square, 12-14 promotion type, 15-18 captured piece + 1,
+     * 19-22 castling rights, 23-29 en passant square, 30 and up the halfmove clock.
+     *
+     * @param from the square of the moving piece
+     * @param to the square the piece moves to
+     * @param promotion the type a pawn promotes to, or PAWN if the move is not a promotion
+     */
+    public void makeMove(int from, int to, int promotion) {
+        int piece = mailbox[from];
+        int captured = mailbox[to];
+        int type = pieceType(piece);
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+            keyStack = Arrays.copyOf(keyStack, keyStack.length * 2);
+        }
+        keyStack[undoSize] = key;
+        undoStack[undoSize++] = from | (long) to << 6 | (long) promotion << 12 | (long) (captured + 1) << 15
+                | (long) castlingRights << 19 | (long) enPassantSquare << 23 | (long) halfmoveClock << 30;
+
+        if (type == PAWN && to == enPassantSquare) {
+            // The captured pawn is beside the moving pawn rather than on the destination square.
+            removePiece(square(from / 8, to % 8));
+        } else if (type == KING && (to - from == 2 || from - to == 2)) {
+            if (to > from) {
+                movePiece(to + 1, to - 1); // kingside rook jumps over the King
+            } else {
+                movePiece(to - 2, to + 1); // queenside rook jumps over the King
+            }
+        }
+        removePiece(from);
+        putPiece(to, promotion == PAWN ? piece : makePiece(sideToMove, promotion));
+
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare) ^ Zobrist.blackToMove();
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        enPassantSquare = NO_SQUARE;
+        if (type == PAWN && (to - from == 16 || from - to == 16)
+                && (Attacks.pawnAttacks(sideToMove, (from + to) / 2) & getPieces(sideToMove ^ 1, PAWN)) != 0) {
+            enPassantSquare = (from + to) / 2;
+        }
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+        if (type == PAWN || captured != EMPTY) {
+            halfmoveClock = 0;
+        } else {
+            halfmoveClock++;
+        }
+        if (sideToMove == BLACK) {
+            fullmoveNumber++;
+        }
+        sideToMove ^= 1;
+    }
+
+    /**
+     * Takes back the last move made with makeMove, restoring this position exactly.
+     */
+    public void unmakeMove() {
+        long record = undoStack[--undoSize];
+        int from = (int) (record & 63);
+        int to = (int) ((record >>> 6) & 63);
+        int promotion = (int) ((record >>> 12) & 7);
+        int captured = (int) ((record >>> 15) & 15) - 1;
+        sideToMove ^= 1;
+        if (sideToMove == BLACK) {
+            fullmoveNumber--;
+        }
+        castlingRights = (int) ((record >>> 19) & 15);
+        enPassantSquare = (int) ((record >>> 23) & 127);
+        halfmoveClock = (int) (record >>> 30);
+
+        int piece = promotion == PAWN ? mailbox[to] : makePiece(sideToMove, PAWN);
+        int type = pieceType(piece);
+        removePiece(to);
+        putPiece(from, piece);
+        if (captured != EMPTY) {
+            putPiece(to, captured);
+        } else if (type == PAWN && to == enPassantSquare) {
+            putPiece(square(from / 8, to % 8), makePiece(sideToMove ^ 1, PAWN));
+        } else if (type == KING && (to - from == 2 || from - to == 2)) {
+            if (to > from) {
+                movePiece(to - 1, to + 1);
+            } else {
+                movePiece(to + 1, to - 2);
+            }
+        }
+        key = keyStack[undoSize];
+    }
+
+    /**
+     * Passes the turn without moving a piece, for null move pruning in search, and pushes an undo record so it
+     * can be taken back with unmakeNullMove. The halfmove clock is reset so that positions from before the null
+     * move never count as repetitions of positions after it.
+     */
+    public void makeNullMove() {
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+            keyStack = Arrays.copyOf(keyStack, keyStack.length * 2);
+        }
+        keyStack[undoSize] = key;
+        undoStack[undoSize++] = (long) castlingRights << 19 | (long) enPassantSquare << 23 | (long) halfmoveClock << 30;
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.blackToMove();
+        enPassantSquare = NO_SQUARE;
+        halfmoveClock = 0;
+        sideToMove ^= 1;
+    }
+
+    /**
+     * Takes back a null move made with makeNullMove.
+     */
+    public void unmakeNullMove() {
+        long record = undoStack[--undoSize];
+        sideToMove ^= 1;
+        enPassantSquare = (int) ((record >>> 23) & 127);
+        halfmoveClock = (int) (record >>> 30);
+        key = keyStack[undoSize];
+    }
+
+    /**
+     * Moves the piece on one square to another empty square.
+     * @param from the square of the piece
+     * @param to the square to move it to
+     */
+    private void movePiece(int from, int to) {
+        int piece = mailbox[from];
+        removePiece(from);
+        putPiece(to, piece);
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     * @return WHITE or BLACK
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the color whose turn it is.
+     * @param color WHITE or BLACK
+     */
+    public void setSideToMove(int color) {
+        if (color != sideToMove) {
+            key ^= Zobrist.blackToMove();
+        }
+        sideToMove = color;
+    }
+
+    /**
+     * Returns the castling rights that are still available.
+     * @return a combination of the castling rights flags
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Sets the castling rights that are available.
+     * @param rights a combination of the castling rights flags
+     */
+    public void setCastlingRights(int rights) {
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        castlingRights = rights;
+    }
+
+    /**
+     * Returns the square that can be captured onto by en passant.
+     * @return the square index, or NO_SQUARE
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * Sets the square that can be captured onto by en passant.
+     * @param square the square index, or NO_SQUARE
+     */
+    public void setEnPassantSquare(int square) {
+        key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.enPassant(square);
+        enPassantSquare = square;
+    }
+
+    /**
+     * Returns the number of moves since the last capture or pawn move.
+     * @return the halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Sets the number of moves since the last capture or pawn move.
+     * @param clock the halfmove clock
+     */
+    public void setHalfmoveClock(int clock) {
+        halfmoveClock = clock;
+    }
+
+    /**
+     * Returns the move number.
+     * @return the fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Sets the move number.
+     * @param number the fullmove number
+     */
+    public void setFullmoveNumber(int number) {
+        fullmoveNumber = number;
+    }
+
+    /**
+     * Returns the Zobrist key of this position.
+     * @return the 64-bit key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the Zobrist key of the pawns alone: the XOR of the key of every pawn on its square.
+     * @return the 64-bit pawn key
+     */
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    /**
+     * Returns the middlegame value of every piece on its square.
+     * @return the sum in centipawns, from white's point of view
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * Returns the endgame value of every piece on its square.
+     * @return the sum in centipawns, from white's point of view
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * Returns the game phase, which falls from PieceSquareTables.MAX_PHASE towards 0 as pieces are traded. It can
+     * exceed MAX_PHASE after promotions.
+     * @return the game phase
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Returns true if this position has already occurred since the last capture or pawn move, found by comparing
+     * its key with the keys of earlier positions with the same side to move.
+     * @return whether or not this position is a repetition
+     */
+    public boolean isRepetition() {
+        int earliest = Math.max(undoSize - halfmoveClock, 0);
+        for (int i = undoSize - 2; i >= earliest; i -= 2) {
+            if (keyStack[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,6 +6,9 @@ import pieces.ChessPiece;
  * Square represents a single square on the chess board. Contains information about
  * the square color, whether it is occupied or not, and if it is occupied, the piece
  * that it contains.
+ *
+ * A Square is a view over the board's Position. Whether or not it is occupied is read from the
+ * Position's bitboards, and placing or removing a piece updates them.
  * @author Riley Muessig
  */
 public class Square {
@@ -21,9 +24,14 @@ public class Square {
     }
 
     /**
-     * Keeps track of whether this square is occupied by a chess piece or not.
+     * The bitboard position that this square is a view over.
      */
-    private boolean occupied;
+    private final Position position;
+
+    /**
+     * Index of this square in the Position, equal to row * 8 + col.
+     */
+    private final int index;
 
     /**
      * The chess piece that this square holds, if any
@@ -46,13 +54,15 @@ public class Square {
      * @param row row of this square
      * @param col column of this square
      * @param type color of this square
+     * @param position the bitboard position this square is a view over
      */
-    public Square(int row, int col, SquareType type) {
-        occupied = false;
+    public Square(int row, int col, SquareType type, Position position) {
         currentPiece = null;
         this.row = row;
         this.col = col;
         squareType = type;
+        this.position = position;
+        index = Position.square(row, col);
     }
 
     /**
@@ -60,7 +70,7 @@ public class Square {
      * @return boolean pertaining to whether ot not this square is occupied.
      */
     public boolean isOccupied() {
-        return occupied;
+        return position.isOccupied(index);
     }
 
     /**
@@ -95,14 +105,22 @@ public class Square {
         return col;
     }
 
+    /**
+     * Returns the index of this square in the board's Position.
+     * @return row * 8 + col
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Replaces the previous chess piece of this square (if any) with a new chess piece.
      * Also occupies this square.
      * @param newPiece the new piece to set this square's current piece to
      */
     public void setCurrentPiece(ChessPiece newPiece) {
-        occupied = true;
         currentPiece = newPiece;
+        position.putPiece(index, newPiece.getPieceCode());
     }
 
     /**
@@ -110,8 +128,8 @@ public class Square {
      * De-occupies the square.
      */
     public void setOccupiedFalse() {
-        occupied = false;
         currentPiece = null;
+        position.removePiece(index);
     }
 
     /**
@@ -123,6 +141,6 @@ public class Square {
      */
     @Override
     public String toString() {
-        return String.valueOf((char)(col + 97)) + (-row + 8);
+        return new String(new char[] {(char) ('a' + col), (char) ('8' - row)});
     }
 }
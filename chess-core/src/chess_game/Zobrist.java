@@ -0,0 +1,116 @@
+package chess_game;
+
+/**
+ * Zobrist holds the random keys used to hash a Position into a single 64-bit key. The key of a position is the
+ * XOR of the key of every piece on its square, the side to move key if black is to move, the key of the castling
+ * rights and the key of the en passant file (if any). Since XOR is its own inverse, Position keeps its key up to
+ * date by XORing keys in and out as pieces move and the state changes, instead of rescanning the board.
+ *
+ * The keys are generated from a fixed seed, so the key of a position is the same on every run.
+ * @author Riley Muessig
+ */
+public final class Zobrist {
+
+    /**
+     * Keys for each piece code on each square.
+     */
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+
+    /**
+     * Key XORed in when black is to move.
+     */
+    private static final long BLACK_TO_MOVE;
+
+    /**
+     * Keys for each combination of castling rights flags.
+     */
+    private static final long[] CASTLING = new long[16];
+
+    /**
+     * Keys for each en passant file.
+     */
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    /**
+     * State of the SplitMix64 generator used to create the keys.
+     */
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    static {
+        for (int piece = 0; piece < 12; piece++) {
+            for (int square = 0; square < 64; square++) {
+                PIECE_SQUARE[piece][square] = nextRandom();
+            }
+        }
+        BLACK_TO_MOVE = nextRandom();
+        // Each castling flag gets its own key, and a combination of flags is the XOR of their keys.
+        long[] flagKeys = {nextRandom(), nextRandom(), nextRandom(), nextRandom()};
+        for (int rights = 0; rights < 16; rights++) {
+            for (int flag = 0; flag < 4; flag++) {
+                if ((rights & (1 << flag)) != 0) {
+                    CASTLING[rights] ^= flagKeys[flag];
+                }
+            }
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE[file] = nextRandom();
+        }
+    }
+
+    /**
+     * Zobrist only holds static keys and cannot be instantiated.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece on a square.
+     * @param piece the piece code
+     * @param square the square index
+     * @return the key
+     */
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece][square];
+    }
+
+    /**
+     * Returns the key XORed in when black is to move.
+     * @return the key
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * Returns the key of a combination of castling rights.
+     * @param rights a combination of the Position castling rights flags
+     * @return the key
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * Returns the key of an en passant square, which only depends on its file.
+     * @param square the en passant square index, or Position.NO_SQUARE
+     * @return the key, or 0 if there is no en passant square
+     */
+    public static long enPassant(int square) {
+        if (square == Position.NO_SQUARE) {
+            return 0L;
+        }
+        return EN_PASSANT_FILE[square % 8];
+    }
+
+    /**
+     * Returns the next value of the SplitMix64 generator.
+     * @return a pseudo-random long
+     */
+    private static long nextRandom() {
+        seed += 0x9E3779B97F4A7C15L;
+        long value = seed;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,8 @@
+module chess.core {
+    exports chess_game;
+    exports notation;
+    exports pgn;
+    exports pieces;
+    exports search;
+    exports uci;
+}
@@ -0,0 +1,368 @@
+package notation;
+
+import chess_game.Move;
+import chess_game.MoveGenerator;
+import chess_game.MoveList;
+import chess_game.Position;
+
+/**
+ * MoveCodec writes and reads packed moves in Standard Algebraic Notation, ex: "Nbd7", "exd8=Q#" or "O-O", and in
+ * UCI long algebraic notation, ex: "g1f3" or "e7e8q".
+ *
+ * Nothing is allocated per move: moves are written into a caller's StringBuilder or byte array and read from any
+ * range of a CharSequence, and the legal moves needed for SAN disambiguation, check and mate suffixes and for
+ * validating a parsed move go into a move list owned by the codec. Only a move that cannot be read creates an
+ * exception. UCI moves can be written without a position, so those methods are static.
+ *
+ * A MoveCodec reuses its move list between calls, so each thread needs its own.
+ * @author Riley Muessig
+ */
+public class MoveCodec {
+
+    /**
+     * The longest a move can be in either notation, ex: "Qa1xb2#" or "exd8=Q#"
+     */
+    public static final int MAX_LENGTH = 7;
+
+    /**
+     * SAN letters of each piece type, a space standing for the pawn, which has none
+     */
+    private static final String SAN_LETTERS = " NBRQK";
+
+    /**
+     * UCI promotion letters of each piece type
+     */
+    private static final String UCI_LETTERS = " nbrqk";
+
+    /**
+     * Legal moves of the position being written or read
+     */
+    private final MoveList legalMoves;
+
+    /**
+     * Holds a SAN move while it is appended to a StringBuilder
+     */
+    private final byte[] buffer;
+
+    /**
+     * Constructor for a MoveCodec.
+     */
+    public MoveCodec() {
+        legalMoves = new MoveList();
+        buffer = new byte[MAX_LENGTH];
+    }
+
+    /**
+     * Writes a legal move in SAN into a byte array.
+     * @param position the position the move is made in, which is returned unchanged
+     * @param move the packed move
+     * @param out the array, with room for MAX_LENGTH bytes at offset
+     * @param offset the index the first byte is written at
+     * @return the index just past the last byte written
+     */
+    public int writeSan(Position position, int move, byte[] out, int offset) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (Move.isCastle(move)) {
+            out[offset++] = 'O';
+            out[offset++] = '-';
+            out[offset++] = 'O';
+            if (to < from) {
+                out[offset++] = '-';
+                out[offset++] = 'O';
+            }
+        } else {
+            int type = Position.pieceType(position.getPiece(from));
+            if (type == Position.PAWN) {
+                if (Move.isCapture(move)) {
+                    out[offset++] = (byte) ('a' + from % 8);
+                }
+            } else {
+                out[offset++] = (byte) SAN_LETTERS.charAt(type);
+                offset = writeDisambiguation(position, type, from, to, out, offset);
+            }
+            if (Move.isCapture(move)) {
+                out[offset++] = 'x';
+            }
+            offset = writeSquare(to, out, offset);
+            if (Move.isPromotion(move)) {
+                out[offset++] = '=';
+                out[offset++] = (byte) SAN_LETTERS.charAt(Move.promotion(move));
+            }
+        }
+
+        position.makeMove(move);
+        int side = position.getSideToMove();
+        if (position.isSquareAttacked(position.getKingSquare(side), 1 - side)) {
+            legalMoves.clear();
+            MoveGenerator.generateLegal(position, legalMoves);
+            out[offset++] = (byte) (legalMoves.size() == 0 ? '#' : '+');
+        }
+        position.unmakeMove();
+        return offset;
+    }
+
+    /**
+     * Appends a legal move in SAN to a StringBuilder.
+     * @param position the position the move is made in, which is returned unchanged
+     * @param move the packed move
+     * @param out the StringBuilder
+     */
+    public void appendSan(Position position, int move, StringBuilder out) {
+        int length = writeSan(position, move, buffer, 0);
+        for (int i = 0; i < length; i++) {
+            out.append((char) buffer[i]);
+        }
+    }
+
+    /**
+     * Reads a SAN move, ex: "e4", "Nbd7", "exd6", "R1a3", "e8=Q+" or "O-O-O". Check, mate and annotation suffixes
+     * (+ # ! ?) are ignored, the promotion '=' may be left out, and castling may be written with zeros.
+     * @param position the position the move is made in
+     * @param text the text holding the move
+     * @param start the index of the first character of the move
+     * @param end the index just past the last character of the move
+     * @return the packed move
+     * @throws IllegalArgumentException if the text is not SAN, or names no legal move or more than one
+     */
+    public int parseSan(Position position, CharSequence text, int start, int end) {
+        while (end > start && isSuffix(text.charAt(end - 1))) {
+            end--;
+        }
+        legalMoves.clear();
+        MoveGenerator.generateLegal(position, legalMoves);
+        if (end - start >= 3 && (text.charAt(start) == 'O' || text.charAt(start) == '0')) {
+            return parseCastle(text, start, end);
+        }
+
+        int type = Position.PAWN;
+        int i = start;
+        if (i < end && SAN_LETTERS.indexOf(text.charAt(i)) > 0) {
+            type = SAN_LETTERS.indexOf(text.charAt(i++));
+        }
+        int promotion = Position.PAWN;
+        int squareEnd = end;
+        if (type == Position.PAWN && squareEnd - i >= 3 && SAN_LETTERS.indexOf(text.charAt(squareEnd - 1)) > 0) {
+            promotion = SAN_LETTERS.indexOf(text.charAt(--squareEnd));
+            if (text.charAt(squareEnd - 1) == '=') {
+                squareEnd--;
+            }
+        }
+        if (squareEnd - i < 2) {
+            throw unreadable(text, start, end);
+        }
+        int to = parseSquare(text, squareEnd - 2);
+        if (to == Position.NO_SQUARE) {
+            throw unreadable(text, start, end);
+        }
+        int fromCol = -1;
+        int fromRow = -1;
+        for (; i < squareEnd - 2; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromCol = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = '8' - c;
+            } else if (c != 'x' && c != ':' && c != '-') {
+                throw unreadable(text, start, end);
+            }
+        }
+
+        int found = Move.NONE;
+        for (int m = 0; m < legalMoves.size(); m++) {
+            int move = legalMoves.get(m);
+            int from = Move.from(move);
+            if (Move.to(move) != to || Move.isCastle(move) || Move.promotion(move) != promotion
+                    || Position.pieceType(position.getPiece(from)) != type
+                    || (fromCol >= 0 && from % 8 != fromCol) || (fromRow >= 0 && from / 8 != fromRow)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                throw new IllegalArgumentException("Ambiguous move: " + text.subSequence(start, end));
+            }
+            found = move;
+        }
+        if (found == Move.NONE) {
+            throw new IllegalArgumentException("Illegal move: " + text.subSequence(start, end));
+        }
+        return found;
+    }
+
+    /**
+     * Writes a move in UCI notation into a byte array.
+     * @param move the packed move
+     * @param out the array, with room for 5 bytes at offset
+     * @param offset the index the first byte is written at
+     * @return the index just past the last byte written
+     */
+    public static int writeUci(int move, byte[] out, int offset) {
+        offset = writeSquare(Move.from(move), out, offset);
+        offset = writeSquare(Move.to(move), out, offset);
+        if (Move.isPromotion(move)) {
+            out[offset++] = (byte) UCI_LETTERS.charAt(Move.promotion(move));
+        }
+        return offset;
+    }
+
+    /**
+     * Appends a move in UCI notation to a StringBuilder.
+     * @param move the packed move
+     * @param out the StringBuilder
+     */
+    public static void appendUci(int move, StringBuilder out) {
+        appendSquare(Move.from(move), out);
+        appendSquare(Move.to(move), out);
+        if (Move.isPromotion(move)) {
+            out.append(UCI_LETTERS.charAt(Move.promotion(move)));
+        }
+    }
+
+    /**
+     * Appends the name of a square to a StringBuilder, ex: "e4".
+     * @param square the Position square index
+     * @param out the StringBuilder
+     */
+    public static void appendSquare(int square, StringBuilder out) {
+        out.append((char) ('a' + square % 8)).append((char) ('8' - square / 8));
+    }
+
+    /**
+     * Reads a UCI move, ex: "e2e4" or "e7e8q". Castling is given as the King moving two squares, ex: "e1g1".
+     * @param position the position the move is made in
+     * @param text the text holding the move
+     * @param start the index of the first character of the move
+     * @param end the index just past the last character of the move
+     * @return the packed move
+     * @throws IllegalArgumentException if the text is not a UCI move or the move is not legal
+     */
+    public int parseUci(Position position, CharSequence text, int start, int end) {
+        int length = end - start;
+        int from = length >= 4 ? parseSquare(text, start) : Position.NO_SQUARE;
+        int to = length >= 4 ? parseSquare(text, start + 2) : Position.NO_SQUARE;
+        int promotion = length == 5 ? UCI_LETTERS.indexOf(text.charAt(start + 4)) : Position.PAWN;
+        if (from == Position.NO_SQUARE || to == Position.NO_SQUARE || length > 5 || (length == 5 && promotion <= 0)) {
+            throw unreadable(text, start, end);
+        }
+        legalMoves.clear();
+        MoveGenerator.generateLegal(position, legalMoves);
+        for (int m = 0; m < legalMoves.size(); m++) {
+            int move = legalMoves.get(m);
+            if (Move.from(move) == from && Move.to(move) == to && Move.promotion(move) == promotion) {
+                return move;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move: " + text.subSequence(start, end));
+    }
+
+    /**
+     * Writes the part of a SAN piece move that tells it apart from moves of other pieces of the same type to the
+     * same square: the from file if it is enough, else the from rank if it is enough, else both.
+     * @param position the position the move is made in
+     * @param type the type of the moving piece
+     * @param from the from square
+     * @param to the to square
+     * @param out the array written to
+     * @param offset the index the first byte is written at
+     * @return the index just past the last byte written
+     */
+    private int writeDisambiguation(Position position, int type, int from, int to, byte[] out, int offset) {
+        legalMoves.clear();
+        MoveGenerator.generateLegal(position, legalMoves);
+        boolean ambiguous = false;
+        boolean sameCol = false;
+        boolean sameRow = false;
+        for (int m = 0; m < legalMoves.size(); m++) {
+            int other = Move.from(legalMoves.get(m));
+            if (Move.to(legalMoves.get(m)) == to && other != from
+                    && Position.pieceType(position.getPiece(other)) == type) {
+                ambiguous = true;
+                sameCol |= other % 8 == from % 8;
+                sameRow |= other / 8 == from / 8;
+            }
+        }
+        if (ambiguous && (!sameCol || sameRow)) {
+            out[offset++] = (byte) ('a' + from % 8);
+        }
+        if (ambiguous && sameCol) {
+            out[offset++] = (byte) ('8' - from / 8);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the legal castling move a SAN move names, ex: "O-O" or "0-0-0".
+     * @param text the text holding the move
+     * @param start the index of the first character of the move
+     * @param end the index just past the last character of the move, without suffixes
+     * @return the packed move
+     * @throws IllegalArgumentException if the text is not castling or castling that way is not legal
+     */
+    private int parseCastle(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length != 3 && length != 5) {
+            throw unreadable(text, start, end);
+        }
+        char letter = text.charAt(start);
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != ((i - start) % 2 == 0 ? letter : '-')) {
+                throw unreadable(text, start, end);
+            }
+        }
+        boolean kingside = length == 3;
+        for (int m = 0; m < legalMoves.size(); m++) {
+            int move = legalMoves.get(m);
+            if (Move.isCastle(move) && (Move.to(move) > Move.from(move)) == kingside) {
+                return move;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move: " + text.subSequence(start, end));
+    }
+
+    /**
+     * Writes the name of a square into a byte array, ex: "e4".
+     * @param square the Position square index
+     * @param out the array written to
+     * @param offset the index the first byte is written at
+     * @return the index just past the last byte written
+     */
+    private static int writeSquare(int square, byte[] out, int offset) {
+        out[offset++] = (byte) ('a' + square % 8);
+        out[offset++] = (byte) ('8' - square / 8);
+        return offset;
+    }
+
+    /**
+     * Reads the name of a square, ex: "e4".
+     * @param text the text holding the square name
+     * @param start the index of the file letter
+     * @return the Position square index, or Position.NO_SQUARE if the text is not a square name
+     */
+    private static int parseSquare(CharSequence text, int start) {
+        int col = text.charAt(start) - 'a';
+        int row = '8' - text.charAt(start + 1);
+        if (col < 0 || col > 7 || row < 0 || row > 7) {
+            return Position.NO_SQUARE;
+        }
+        return Position.square(row, col);
+    }
+
+    /**
+     * Returns true if a character is a check, mate or annotation suffix of a SAN move.
+     * @param c the character
+     * @return whether or not the character is one of + # ! ?
+     */
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    /**
+     * Creates the exception thrown for text that is not a move.
+     * @param text the text holding the move
+     * @param start the index of the first character of the move
+     * @param end the index just past the last character of the move
+     * @return the exception
+     */
+    private static IllegalArgumentException unreadable(CharSequence text, int start, int end) {
+        return new IllegalArgumentException("Unreadable move: " + text.subSequence(start, end));
+    }
+}
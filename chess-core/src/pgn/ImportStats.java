@@ -0,0 +1,149 @@
+package pgn;
+
+/**
+ * ImportStats counts the games, plies and results of a PGN import, and measures its throughput.
+ * @author Riley Muessig
+ */
+public class ImportStats {
+
+    /**
+     * Game counts
+     */
+    private long games;
+    private long rejectedGames;
+
+    /**
+     * Plies made in valid games
+     */
+    private long plies;
+
+    /**
+     * Valid games by the value of their Result tag
+     */
+    private long whiteWins;
+    private long blackWins;
+    private long draws;
+    private long unfinished;
+
+    /**
+     * Wall clock time of the import in nanoseconds
+     */
+    private long elapsedNanos;
+
+    /**
+     * Constructor for empty ImportStats.
+     */
+    public ImportStats() {
+    }
+
+    /**
+     * Counts the result of replaying one game.
+     * @param result the result
+     */
+    public void add(ReplayResult result) {
+        games++;
+        if (!result.isValid()) {
+            rejectedGames++;
+            return;
+        }
+        plies += result.getPlies();
+        String outcome = result.getGame().getTag("Result");
+        if ("1-0".equals(outcome)) {
+            whiteWins++;
+        } else if ("0-1".equals(outcome)) {
+            blackWins++;
+        } else if ("1/2-1/2".equals(outcome)) {
+            draws++;
+        } else {
+            unfinished++;
+        }
+    }
+
+    /**
+     * Sets how long the import took.
+     * @param elapsedNanos the wall clock time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns how long the import took.
+     * @return the wall clock time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games read.
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games in which every move was legal.
+     * @return the number of valid games
+     */
+    public long getValidGames() {
+        return games - rejectedGames;
+    }
+
+    /**
+     * Returns the number of games rejected for an unreadable or illegal move.
+     * @return the number of rejected games
+     */
+    public long getRejectedGames() {
+        return rejectedGames;
+    }
+
+    /**
+     * Returns the number of plies made in valid games.
+     * @return the number of plies
+     */
+    public long getPlies() {
+        return plies;
+    }
+
+    /**
+     * Returns the number of valid games won by white.
+     * @return the number of games with the Result 1-0
+     */
+    public long getWhiteWins() {
+        return whiteWins;
+    }
+
+    /**
+     * Returns the number of valid games won by black.
+     * @return the number of games with the Result 0-1
+     */
+    public long getBlackWins() {
+        return blackWins;
+    }
+
+    /**
+     * Returns the number of valid drawn games.
+     * @return the number of games with the Result 1/2-1/2
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the number of valid games without a decisive or drawn result.
+     * @return the number of games with the Result * or no Result tag
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Returns the throughput of the import.
+     * @return the number of games read per second
+     */
+    public double getGamesPerSecond() {
+        return games * 1e9 / Math.max(elapsedNanos, 1);
+    }
+}
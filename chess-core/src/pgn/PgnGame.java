@@ -0,0 +1,87 @@
+package pgn;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * PgnGame is one game read from a PGN file: its tag pairs, ex: [White "Carlsen, Magnus"], and its movetext, ex:
+ * "1. e4 e5 2. Nf3 {a comment} Nc6 1-0". The movetext is kept as read and only parsed when the game is replayed.
+ * @author Riley Muessig
+ */
+public class PgnGame {
+
+    /**
+     * The number of the game in its file, starting at 1
+     */
+    private final long number;
+
+    /**
+     * The byte offset of the game in its file
+     */
+    private final long offset;
+
+    /**
+     * The tag pairs, in the order they were read
+     */
+    private final Map<String, String> tags;
+
+    /**
+     * The movetext
+     */
+    private final String movetext;
+
+    /**
+     * Constructor for a PgnGame.
+     * @param number the number of the game in its file, starting at 1
+     * @param offset the byte offset of the game in its file
+     * @param tags the tag pairs
+     * @param movetext the movetext
+     */
+    public PgnGame(long number, long offset, Map<String, String> tags, String movetext) {
+        this.number = number;
+        this.offset = offset;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.movetext = movetext;
+    }
+
+    /**
+     * Returns the number of the game in its file.
+     * @return the game number, starting at 1
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the byte offset of the game in its file.
+     * @return the offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the value of a tag pair.
+     * @param name the tag name, ex: "Result"
+     * @return the tag value, or null if the game does not have the tag
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Returns every tag pair of the game.
+     * @return an unmodifiable map from tag name to value, in the order the tags were read
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the movetext of the game.
+     * @return the movetext
+     */
+    public String getMovetext() {
+        return movetext;
+    }
+}
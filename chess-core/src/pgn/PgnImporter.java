@@ -0,0 +1,209 @@
+package pgn;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * PgnImporter streams the games of a PGN file through a PgnReader and replays them in parallel on a ForkJoinPool.
+ * Games are read in batches on the calling thread, and each batch is replayed while the next one is read. Results
+ * are handed to the caller in the order the games appear in the file.
+ *
+ * Usage: PgnImporter file [-threads n] [-output stats|fens|rejected]
+ * @author Riley Muessig
+ */
+public class PgnImporter {
+
+    /**
+     * The number of games read before a batch is replayed
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * The largest number of games a single task replays without splitting
+     */
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * The pool games are replayed on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor for a PgnImporter.
+     * @param threads the number of threads games are replayed on
+     */
+    public PgnImporter(int threads) {
+        pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Reads and replays every game of a PGN file.
+     * @param path the PGN file
+     * @param consumer called on the calling thread with the result of each game, in file order
+     * @return the statistics of the import
+     * @throws IOException if the file cannot be read
+     */
+    public ImportStats importFile(Path path, Consumer<ReplayResult> consumer) throws IOException {
+        ImportStats stats = new ImportStats();
+        long start = System.nanoTime();
+        try (PgnReader reader = new PgnReader(path)) {
+            ForkJoinTask<Void> running = null;
+            ReplayResult[] results = null;
+            while (true) {
+                PgnGame[] batch = readBatch(reader);
+                if (running != null) {
+                    running.join();
+                    for (ReplayResult result : results) {
+                        stats.add(result);
+                        consumer.accept(result);
+                    }
+                }
+                if (batch.length == 0) {
+                    break;
+                }
+                results = new ReplayResult[batch.length];
+                running = pool.submit(new ReplayTask(batch, results, 0, batch.length));
+            }
+        }
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Stops the threads of the pool. The PgnImporter cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Reads up to BATCH_SIZE games.
+     * @param reader the reader
+     * @return the games read, none if the end of the file was reached
+     * @throws IOException if the file cannot be read
+     */
+    private static PgnGame[] readBatch(PgnReader reader) throws IOException {
+        PgnGame[] batch = new PgnGame[BATCH_SIZE];
+        int size = 0;
+        PgnGame game;
+        while (size < BATCH_SIZE && (game = reader.next()) != null) {
+            batch[size++] = game;
+        }
+        if (size < BATCH_SIZE) {
+            PgnGame[] trimmed = new PgnGame[size];
+            System.arraycopy(batch, 0, trimmed, 0, size);
+            return trimmed;
+        }
+        return batch;
+    }
+
+    /**
+     * Replays a range of a batch of games, splitting it in half until it is at most LEAF_SIZE games long.
+     */
+    private static class ReplayTask extends RecursiveAction {
+
+        /**
+         * Version of the serialized form, which is never used
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The batch of games and the array their results are written to
+         */
+        private final PgnGame[] games;
+        private final ReplayResult[] results;
+
+        /**
+         * The range of the batch this task replays
+         */
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor for a ReplayTask.
+         * @param games the batch of games
+         * @param results the array the results are written to, at the same index as their game
+         * @param from the first index to replay
+         * @param to the index just past the last one to replay
+         */
+        private ReplayTask(PgnGame[] games, ReplayResult[] results, int from, int to) {
+            this.games = games;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                PgnReplayer replayer = new PgnReplayer();
+                for (int i = from; i < to; i++) {
+                    results[i] = replayer.replay(games[i]);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ReplayTask(games, results, from, middle), new ReplayTask(games, results, middle, to));
+            }
+        }
+    }
+
+    /**
+     * Imports a PGN file and prints its statistics, the final FEN of every valid game, or every rejected game with
+     * the position it was rejected in. The statistics go to standard error when games are printed.
+     * @param args the file, optionally followed by -threads n and -output stats, fens or rejected
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: PgnImporter file [-threads n] [-output stats|fens|rejected]");
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        String output = "stats";
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].equals("-threads")) {
+                threads = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("-output")) {
+                output = args[i + 1];
+            }
+        }
+        Consumer<ReplayResult> consumer;
+        if (output.equals("fens")) {
+            consumer = result -> {
+                if (result.isValid()) {
+                    System.out.println(result.getFen());
+                }
+            };
+        } else if (output.equals("rejected")) {
+            consumer = result -> {
+                if (!result.isValid()) {
+                    PgnGame game = result.getGame();
+                    System.out.println("Game " + game.getNumber() + " at offset " + game.getOffset() + ", ply "
+                            + (result.getPlies() + 1) + ": " + result.getError());
+                    System.out.println("    " + result.getFen());
+                }
+            };
+        } else {
+            consumer = result -> { };
+        }
+
+        PgnImporter importer = new PgnImporter(threads);
+        ImportStats stats = importer.importFile(Paths.get(args[0]), consumer);
+        importer.shutdown();
+
+        PrintStream report = output.equals("stats") ? System.out : System.err;
+        report.println("Games: " + stats.getGames() + " (" + stats.getValidGames() + " valid, "
+                + stats.getRejectedGames() + " rejected)");
+        report.println("Plies: " + stats.getPlies());
+        report.println("Results: 1-0 " + stats.getWhiteWins() + ", 0-1 " + stats.getBlackWins() + ", 1/2-1/2 "
+                + stats.getDraws() + ", unfinished " + stats.getUnfinished());
+        report.println("Time: " + stats.getElapsedNanos() / 1000000 + " ms");
+        report.println("Games per second: " + Math.round(stats.getGamesPerSecond()));
+    }
+}
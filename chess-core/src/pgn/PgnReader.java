@@ -0,0 +1,283 @@
+package pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PgnReader reads the games of a PGN file one at a time. The file is memory-mapped rather than read into the heap,
+ * so an archive of any size can be streamed: only the game being returned is copied out of the mapping, and only
+ * its tag pairs are parsed. The movetext is left for PgnReplayer to parse, which can happen on another thread.
+ *
+ * Files larger than the mapping window are mapped one window at a time, and a game that runs past the end of a
+ * window is read again from a window that starts at the game.
+ * @author Riley Muessig
+ */
+public class PgnReader implements Closeable {
+
+    /**
+     * The largest number of bytes mapped at once, which is also the size limit of a single game
+     */
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * The file being read
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the file in bytes
+     */
+    private final long size;
+
+    /**
+     * The currently mapped part of the file
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The file offset of the first byte of the window
+     */
+    private long windowStart;
+
+    /**
+     * The file offset of the next byte to read
+     */
+    private long offset;
+
+    /**
+     * The number of games returned so far
+     */
+    private long gamesRead;
+
+    /**
+     * Reusable buffer for the bytes of a tag value
+     */
+    private byte[] valueBytes;
+
+    /**
+     * Constructor for a PgnReader.
+     * @param path the PGN file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public PgnReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        size = channel.size();
+        valueBytes = new byte[256];
+        offset = 0;
+        if (size > 0) {
+            map(0);
+            // Skip a UTF-8 byte order mark
+            if (size >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB
+                    && window.get(2) == (byte) 0xBF) {
+                offset = 3;
+            }
+        }
+    }
+
+    /**
+     * Reads the next game.
+     * @return the game, or null if there are no more games in the file
+     * @throws IOException if the file cannot be mapped or a game is larger than the mapping window
+     */
+    public PgnGame next() throws IOException {
+        long start = skipWhitespace(offset);
+        if (start >= size) {
+            offset = size;
+            return null;
+        }
+        long end = findEnd(start);
+        byte[] bytes = new byte[(int) (end - start)];
+        window.get((int) (start - windowStart), bytes);
+        offset = end;
+        gamesRead++;
+        return parse(bytes, start);
+    }
+
+    /**
+     * Returns the number of games read so far.
+     * @return the number of games
+     */
+    public long getGamesRead() {
+        return gamesRead;
+    }
+
+    /**
+     * Returns the size of the file.
+     * @return the size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Closes the file. The mapping is released once it is no longer reachable.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Maps the window that starts at a file offset.
+     * @param start the file offset
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(long start) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+        windowStart = start;
+    }
+
+    /**
+     * Returns the file offset of the first byte at or after an offset that is not whitespace.
+     * @param from the file offset to start at
+     * @return the offset, or the size of the file if only whitespace is left
+     * @throws IOException if the file cannot be mapped
+     */
+    private long skipWhitespace(long from) throws IOException {
+        while (from < size) {
+            if (from < windowStart || from >= windowStart + window.limit()) {
+                map(from);
+            }
+            int i = (int) (from - windowStart);
+            int limit = window.limit();
+            while (i < limit && (window.get(i) & 0xFF) <= ' ') {
+                i++;
+            }
+            from = windowStart + i;
+            if (i < limit) {
+                return from;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Finds the end of the game that starts at a file offset, and leaves the whole game in the window. A game ends
+     * where a tag line follows its movetext. A tag line is one that starts with '[' outside of a brace comment.
+     * @param start the file offset of the game, which is in the window
+     * @return the file offset just past the end of the game
+     * @throws IOException if the file cannot be mapped or the game is larger than the mapping window
+     */
+    private long findEnd(long start) throws IOException {
+        while (true) {
+            int limit = window.limit();
+            boolean lineStart = true;
+            boolean skipLine = false;
+            boolean inComment = false;
+            boolean hasMovetext = false;
+            for (int i = (int) (start - windowStart); i < limit; i++) {
+                byte b = window.get(i);
+                if (b == '\n') {
+                    lineStart = true;
+                    skipLine = false;
+                    continue;
+                }
+                if (lineStart) {
+                    lineStart = false;
+                    if (!inComment && b == '[') {
+                        if (hasMovetext) {
+                            return windowStart + i;
+                        }
+                        skipLine = true;
+                        continue;
+                    }
+                    if (!inComment && b == '%') {
+                        skipLine = true;
+                        continue;
+                    }
+                }
+                if (skipLine) {
+                    continue;
+                }
+                if (inComment) {
+                    inComment = b != '}';
+                } else if (b == '{') {
+                    inComment = true;
+                } else if (b == ';') {
+                    skipLine = true;
+                } else if ((b & 0xFF) > ' ') {
+                    hasMovetext = true;
+                }
+            }
+            if (windowStart + limit >= size) {
+                return size;
+            }
+            if (windowStart == start) {
+                throw new IOException("Game at offset " + start + " is larger than " + WINDOW_SIZE + " bytes");
+            }
+            map(start);
+        }
+    }
+
+    /**
+     * Splits the bytes of a game into its tag pairs and its movetext.
+     * @param bytes the bytes of the game
+     * @param start the file offset of the game
+     * @return the game
+     */
+    private PgnGame parse(byte[] bytes, long start) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        int i = 0;
+        while (true) {
+            while (i < bytes.length && (bytes[i] & 0xFF) <= ' ') {
+                i++;
+            }
+            if (i >= bytes.length || (bytes[i] != '[' && bytes[i] != '%')) {
+                break;
+            }
+            if (bytes[i] == '[') {
+                parseTag(bytes, i + 1, tags);
+            }
+            while (i < bytes.length && bytes[i] != '\n') {
+                i++;
+            }
+        }
+        String movetext = new String(bytes, i, bytes.length - i, StandardCharsets.UTF_8);
+        return new PgnGame(gamesRead, start, tags, movetext);
+    }
+
+    /**
+     * Parses one tag pair, ex: [Event "Casual game"]. A tag line that is not a well-formed pair is ignored.
+     * @param bytes the bytes of the game
+     * @param i the index just past the '['
+     * @param tags the map the tag pair is added to
+     */
+    private void parseTag(byte[] bytes, int i, Map<String, String> tags) {
+        while (i < bytes.length && bytes[i] == ' ') {
+            i++;
+        }
+        int nameStart = i;
+        while (i < bytes.length && (bytes[i] & 0xFF) > ' ' && bytes[i] != '"' && bytes[i] != ']') {
+            i++;
+        }
+        int nameEnd = i;
+        while (i < bytes.length && bytes[i] == ' ') {
+            i++;
+        }
+        if (nameEnd == nameStart || i >= bytes.length || bytes[i] != '"') {
+            return;
+        }
+        int length = 0;
+        for (i++; i < bytes.length && bytes[i] != '"' && bytes[i] != '\n'; i++) {
+            if (bytes[i] == '\\' && i + 1 < bytes.length && (bytes[i + 1] == '"' || bytes[i + 1] == '\\')) {
+                i++;
+            }
+            if (length == valueBytes.length) {
+                byte[] grown = new byte[length * 2];
+                System.arraycopy(valueBytes, 0, grown, 0, length);
+                valueBytes = grown;
+            }
+            valueBytes[length++] = bytes[i];
+        }
+        String name = new String(bytes, nameStart, nameEnd - nameStart, StandardCharsets.UTF_8);
+        tags.put(name, new String(valueBytes, 0, length, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,138 @@
+package pgn;
+
+import chess_game.Fen;
+import chess_game.Position;
+import notation.MoveCodec;
+
+/**
+ * PgnReplayer replays the movetext of a PgnGame through the rules engine, starting from the game's FEN tag if it
+ * has one and from the starting position otherwise. Move numbers, comments, variations and numeric annotation
+ * glyphs are skipped, and the game ends at its result token or at the end of the movetext.
+ *
+ * A PgnReplayer reuses its MoveCodec between games, so each thread needs its own.
+ * @author Riley Muessig
+ */
+public class PgnReplayer {
+
+    /**
+     * Reads the SAN moves of the movetext
+     */
+    private final MoveCodec codec;
+
+    /**
+     * Constructor for a PgnReplayer.
+     */
+    public PgnReplayer() {
+        codec = new MoveCodec();
+    }
+
+    /**
+     * Replays a game.
+     * @param game the game
+     * @return the result, which is valid if every move of the game was legal, and rejected rather than thrown if
+     * anything about the game goes wrong, so that one bad game cannot stop an import
+     */
+    public ReplayResult replay(PgnGame game) {
+        Position position;
+        String fen = game.getTag("FEN");
+        try {
+            position = Fen.parse(fen != null ? fen : Fen.STARTING_POSITION);
+        } catch (RuntimeException e) {
+            return new ReplayResult(game, 0, describe(e), fen);
+        }
+
+        String text = game.getMovetext();
+        int length = text.length();
+        int plies = 0;
+        int variationDepth = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c <= ' ') {
+                i++;
+            } else if (c == '{') {
+                int close = text.indexOf('}', i);
+                i = close < 0 ? length : close + 1;
+            } else if (c == ';') {
+                int newline = text.indexOf('\n', i);
+                i = newline < 0 ? length : newline + 1;
+            } else if (c == '(') {
+                variationDepth++;
+                i++;
+            } else if (c == ')') {
+                if (--variationDepth < 0) {
+                    return new ReplayResult(game, plies, "Unbalanced ')'", Fen.toFen(position));
+                }
+                i++;
+            } else {
+                int end = i;
+                while (end < length && !isDelimiter(text.charAt(end))) {
+                    end++;
+                }
+                if (variationDepth > 0 || c == '$') {
+                    i = end;
+                    continue;
+                }
+                if (isResult(text, i, end)) {
+                    break;
+                }
+                int digits = i;
+                while (digits < end && Character.isDigit(text.charAt(digits))) {
+                    digits++;
+                }
+                if (digits > i && digits < end && text.charAt(digits) == '.') {
+                    // A move number, ex: "12." or "12...", possibly run into the move that follows it
+                    i = digits;
+                    while (i < end && text.charAt(i) == '.') {
+                        i++;
+                    }
+                    continue;
+                }
+                try {
+                    position.makeMove(codec.parseSan(position, text, i, end));
+                } catch (RuntimeException e) {
+                    return new ReplayResult(game, plies, describe(e), Fen.toFen(position));
+                }
+                plies++;
+                i = end;
+            }
+        }
+        if (variationDepth > 0) {
+            return new ReplayResult(game, plies, "Unclosed variation", Fen.toFen(position));
+        }
+        return new ReplayResult(game, plies, null, Fen.toFen(position));
+    }
+
+    /**
+     * Describes why a game was rejected.
+     * @param e the exception the game was rejected for
+     * @return the message of an IllegalArgumentException, which the rules engine throws for bad input, and the
+     * exception itself for anything else
+     */
+    private static String describe(RuntimeException e) {
+        return e instanceof IllegalArgumentException && e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    /**
+     * Returns true if a character ends a movetext token.
+     * @param c the character
+     * @return whether or not the character is whitespace or starts a comment or variation
+     */
+    private static boolean isDelimiter(char c) {
+        return c <= ' ' || c == '{' || c == '}' || c == '(' || c == ')' || c == ';';
+    }
+
+    /**
+     * Returns true if a movetext token is a game termination marker: 1-0, 0-1, 1/2-1/2 or *.
+     * @param text the movetext
+     * @param start the index of the first character of the token
+     * @param end the index just past the last character of the token
+     * @return whether or not the token is a result
+     */
+    private static boolean isResult(String text, int start, int end) {
+        int length = end - start;
+        return (length == 1 && text.charAt(start) == '*')
+                || (length == 3 && (text.startsWith("1-0", start) || text.startsWith("0-1", start)))
+                || (length == 7 && text.startsWith("1/2-1/2", start));
+    }
+}
@@ -0,0 +1,83 @@
+package pgn;
+
+/**
+ * ReplayResult is the outcome of replaying one PgnGame through the rules engine: either the game is valid, or it is
+ * rejected at the first move that could not be read or is not legal.
+ * @author Riley Muessig
+ */
+public class ReplayResult {
+
+    /**
+     * The game that was replayed
+     */
+    private final PgnGame game;
+
+    /**
+     * The number of plies made before the game ended or was rejected
+     */
+    private final int plies;
+
+    /**
+     * Why the game was rejected, or null if it is valid
+     */
+    private final String error;
+
+    /**
+     * FEN of the final position of a valid game, or of the position a rejected game was rejected in
+     */
+    private final String fen;
+
+    /**
+     * Constructor for a ReplayResult.
+     * @param game the game that was replayed
+     * @param plies the number of plies made before the game ended or was rejected
+     * @param error why the game was rejected, or null if it is valid
+     * @param fen FEN of the final position, or of the position the game was rejected in
+     */
+    public ReplayResult(PgnGame game, int plies, String error, String fen) {
+        this.game = game;
+        this.plies = plies;
+        this.error = error;
+        this.fen = fen;
+    }
+
+    /**
+     * Returns the game that was replayed.
+     * @return the PgnGame
+     */
+    public PgnGame getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the number of plies made.
+     * @return the number of plies of a valid game, or the number made before a rejected game's bad move
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Returns true if every move of the game was legal.
+     * @return whether or not the game is valid
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Returns why the game was rejected.
+     * @return the error, or null if the game is valid
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns FEN of the final position of a valid game, or of the position a rejected game was rejected in.
+     * @return the FEN string
+     */
+    public String getFen() {
+        return fen;
+    }
+}
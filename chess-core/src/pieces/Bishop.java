@@ -3,6 +3,7 @@ package pieces;
 import chess_game.ChessBoard;
 import chess_game.Color;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 /**
@@ -31,6 +32,15 @@ public class Bishop extends ChessPiece {
         verifyDiagonals();
     }
 
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.BISHOP
+     */
+    @Override
+    public int getType() {
+        return Position.BISHOP;
+    }
+
     /**
      * Returns a String based on the color of this piece. Allows ChessGUI to
      * efficiently access an image whose name corresponds to the color and type of
@@ -1,8 +1,12 @@
 package pieces;
 
+import chess_game.Attacks;
 import chess_game.ChessBoard;
 import chess_game.Color;
+import chess_game.MoveGenerator;
+import chess_game.MoveList;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 import java.util.ArrayList;
@@ -106,102 +110,37 @@ public abstract class ChessPiece {
     }
 
     /**
-     * Checks for valid moves branching diagonally from this piece.
+     * Checks the validity of every move to a set of target squares.
      *
-     * Used to verify all moves for Bishops and diagonal moves for Queens.
+     * @param targets bitboard of the squares this piece could move to
      */
-    public void verifyDiagonals() {
-        // Checks validity of all moves one square away from this piece.
-        verifyMove(row + 1, col + 1);
-        verifyMove(row + 1, col - 1);
-        verifyMove(row - 1, col + 1);
-        verifyMove(row - 1, col - 1);
-        // Checks validity of moves in all 4 diagonal directions. Stops reading in a given direction
-        // if the move one square closer to this piece is not valid. It would not be possible for any further moves
-        // in that direction to be valid.
-        //
-        // Ex: If (row + 1, col + 1) is not valid, (row + 2, col + 2) cannot be valid and is not checked.
-        for (int i = 0; i < 4; i++) {
-            for (int j = 2; j < 8; j++) {
-                if (i == 0) {
-                    if ((row + j - 1) <= 7 && (col + j - 1) <= 7) { // Checks moves that branch down and to the right.
-                        if (validMoves.contains(squares[row + j - 1][col + j - 1])
-                                && !squares[row + j - 1][col + j - 1].isOccupied()) {
-                            verifyMove(row + j, col + j);
-                        }
-                    }
-                } else if (i == 1) {
-                    if ((row + j - 1) <= 7 && (col - j + 1) >= 0) { // Checks moves that branch down and to the left.
-                        if (validMoves.contains(squares[row + j - 1][col - j + 1])
-                                && !squares[row + j - 1][col - j + 1].isOccupied()) {
-                            verifyMove(row + j, col - j);
-                        }
-                    }
-                } else if (i == 2) {
-                    if ((row - j + 1) >= 0 && (col + j - 1) <= 7) { // Checks moves that branch up and to the right.
-                        if (validMoves.contains(squares[row - j + 1][col + j - 1])
-                                && !squares[row - j + 1][col + j - 1].isOccupied()) {
-                            verifyMove(row - j, col + j);
-                        }
-                    }
-                } else {
-                    if ((row - j + 1) >= 0 && (col - j + 1) >= 0) { // Checks moves that branch up and to the left.
-                        if (validMoves.contains(squares[row - j + 1][col - j + 1])
-                                && !squares[row - j + 1][col - j + 1].isOccupied()) {
-                            verifyMove(row - j, col - j);
-                        }
-                    }
-                }
-
-            }
+    public void verifyMoves(long targets) {
+        while (targets != 0) {
+            int target = Long.numberOfTrailingZeros(targets);
+            verifyMove(target / 8, target % 8);
+            targets &= targets - 1;
         }
     }
 
     /**
-     * Checks for valid moves branching horizontally and vertically from this piece.
+     * Checks for valid moves branching diagonally from this piece. The squares along every diagonal up to and
+     * including the first blocking piece are looked up in the precomputed bishop attack table.
+     *
+     * Used to verify all moves for Bishops.
+     */
+    public void verifyDiagonals() {
+        verifyMoves(Attacks.bishopAttacks(Position.square(row, col), board.getPosition().getOccupied()));
+    }
+
+    /**
+     * Checks for valid moves branching horizontally and vertically from this piece. The squares along every
+     * row and column up to and including the first blocking piece are looked up in the precomputed rook
+     * attack table.
      *
-     * Used to verify all moves for Rooks and horizontal/vertical moves for Queens.
+     * Used to verify all moves for Rooks.
      */
     public void verifyStraights() {
-        // Checks validity of all moves one square away from this piece.
-        verifyMove(row, col + 1);
-        verifyMove(row + 1, col);
-        verifyMove(row, col - 1);
-        verifyMove(row - 1, col);
-        // Checks validity of moves in all 4 horizontal and vertical directions. Stops reading in a given direction
-        // if the move one square closer to this piece is not valid. It would not be possible for any further moves
-        // in that direction to be valid.
-        //
-        // Ex: If (row + 1, col) is not valid, (row + 2, col) cannot be valid and is not checked.
-        for (int i = 0; i < 4; i++) {
-            for (int j = 2; j < 8; j++) {
-                if (i == 0) {
-                    if ((col + j - 1) <= 7) { // Checks moves that branch to the right.
-                        if (validMoves.contains(squares[row][col + j - 1]) && !squares[row][col + j - 1].isOccupied()) {
-                            verifyMove(row, col + j);
-                        }
-                    }
-                } else if (i == 1) {
-                    if ((row + j - 1) <= 7) { // Checks moves that branch downward.
-                        if (validMoves.contains(squares[row + j - 1][col]) && !squares[row + j - 1][col].isOccupied()) {
-                            verifyMove(row + j, col);
-                        }
-                    }
-                } else if (i == 2) {
-                    if ((col - j + 1) >= 0) { // Checks moves that branch to the left.
-                        if (validMoves.contains(squares[row][col - j + 1]) && !squares[row][col - j + 1].isOccupied()) {
-                            verifyMove(row, col - j);
-                        }
-                    }
-                } else {
-                    if ((row - j + 1) >= 0) { // Checks moves that branch upward.
-                        if (validMoves.contains(squares[row - j + 1][col]) && !squares[row - j + 1][col].isOccupied()) {
-                            verifyMove(row - j, col);
-                        }
-                    }
-                }
-            }
-        }
+        verifyMoves(Attacks.rookAttacks(Position.square(row, col), board.getPosition().getOccupied()));
     }
 
     /**
@@ -210,6 +149,29 @@ public abstract class ChessPiece {
      */
     public abstract void findAllMoves();
 
+    /**
+     * Adds every move this piece can make in the current turn to a MoveList as packed int moves, found from the
+     * board's bitboard Position. Unlike findAllMoves, does not allocate and does not update the list of valid
+     * moves or pieces attacked.
+     * @param moves the MoveList the moves are added to
+     */
+    public void findAllMoves(MoveList moves) {
+        MoveGenerator.generatePieceMoves(board.getPosition(), Position.square(row, col), moves);
+    }
+
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING
+     */
+    public abstract int getType();
+
+    /**
+     * Returns the Position piece code of this piece, which combines its color and type.
+     * @return the piece code
+     */
+    public int getPieceCode() {
+        return Position.makePiece(color.ordinal(), getType());
+    }
 
     /**
      * Returns color of this piece. Used to check if a piece can attack another.
@@ -3,6 +3,7 @@ package pieces;
 import chess_game.ChessBoard;
 import chess_game.Color;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 import java.util.ArrayList;
@@ -65,6 +66,15 @@ public class King extends ChessPiece {
         return check;
     }
 
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.KING
+     */
+    @Override
+    public int getType() {
+        return Position.KING;
+    }
+
     /**
      * Returns a String based on the color of this piece. Allows ChessGUI to
      * efficiently access an image whose name corresponds to the color and type of
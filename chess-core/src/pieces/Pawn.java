@@ -3,6 +3,7 @@ package pieces;
 import chess_game.ChessBoard;
 import chess_game.Color;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 /**
@@ -162,6 +163,16 @@ public class Pawn extends ChessPiece {
         }
     }
 
+    /**
+     * Sets whether or not this Pawn can be captured in an en passant move by an opponent's pawn the next turn,
+     * for a Pawn placed on a board that was set up right after its two square move.
+     *
+     * @param enPassantable true if can be captured by en passant, false if not.
+     */
+    public void setEnPassantable(boolean enPassantable) {
+        this.enPassantable = enPassantable;
+    }
+
     /**
      * Indicates that it is no longer this Pawn's first move.
      */
@@ -201,6 +212,15 @@ public class Pawn extends ChessPiece {
         super.setCurrentSquare(square);
     }
 
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.PAWN
+     */
+    @Override
+    public int getType() {
+        return Position.PAWN;
+    }
+
     /**
      * Returns a String based on the color of this piece. Allows ChessGUI to
      * efficiently access an image whose name corresponds to the color and type of
@@ -1,8 +1,10 @@
 package pieces;
 
+import chess_game.Attacks;
 import chess_game.ChessBoard;
 import chess_game.Color;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 /**
@@ -28,8 +30,16 @@ public class Queen extends ChessPiece {
     public void findAllMoves() {
         validMoves.clear();
         allPiecesAttacked.clear();
-        verifyDiagonals();
-        verifyStraights();
+        verifyMoves(Attacks.queenAttacks(Position.square(row, col), board.getPosition().getOccupied()));
+    }
+
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.QUEEN
+     */
+    @Override
+    public int getType() {
+        return Position.QUEEN;
     }
 
     /**
@@ -3,6 +3,7 @@ package pieces;
 import chess_game.ChessBoard;
 import chess_game.Color;
 import chess_game.Player;
+import chess_game.Position;
 import chess_game.Square;
 
 /**
@@ -42,6 +43,15 @@ public class Rook extends ChessPiece {
         return castleable;
     }
 
+    /**
+     * Returns the type of this piece as used by the bitboard Position.
+     * @return Position.ROOK
+     */
+    @Override
+    public int getType() {
+        return Position.ROOK;
+    }
+
     /**
      * Returns a String based on the color of this piece. Allows ChessGUI to
      * efficiently access an image whose name corresponds to the color and type of
@@ -0,0 +1,133 @@
+package search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EvalCache remembers the static evaluation of recently evaluated positions, keyed by their full Zobrist key, so
+ * that a position reached again (by a transposition, a re-search or another thread) is not evaluated twice. It is
+ * direct-mapped: each key has exactly one slot, and a new evaluation simply replaces whatever was there.
+ *
+ * Each slot is a single long holding the upper 48 bits of the key and the 16-bit score. The Java memory model lets
+ * a plain long write be split in two, so slots are read and written with opaque access, which is never split and
+ * compiles to an ordinary load or store on 64-bit machines. A slot can therefore never hold the key of one
+ * position with the score of another, and the cache can be shared by several threads without locks. The hit and
+ * miss counters are not synchronized, so they are only approximate when the cache is shared.
+ * @author Riley Muessig
+ */
+public class EvalCache {
+
+    /**
+     * Returned by probe when a position is not cached
+     */
+    public static final int MISS = Integer.MIN_VALUE;
+
+    /**
+     * Default number of slots
+     */
+    public static final int DEFAULT_ENTRIES = 1 << 16;
+
+    /**
+     * Bits of a slot that hold the key
+     */
+    private static final long KEY_MASK = ~0xFFFFL;
+
+    /**
+     * The slots. Zero is an empty slot, since no real key is zero in its upper 48 bits.
+     */
+    private final AtomicLongArray slots;
+
+    /**
+     * Mask that maps a key to a slot index
+     */
+    private final int mask;
+
+    /**
+     * Statistics
+     */
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for an EvalCache of the default size.
+     */
+    public EvalCache() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /**
+     * Constructor for an EvalCache of the largest power of two number of slots that fits.
+     * @param entries the maximum number of slots
+     */
+    public EvalCache(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, 1));
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the cached evaluation of a position.
+     * @param key the Zobrist key of the position
+     * @return the score, or MISS if the position is not cached
+     */
+    public int probe(long key) {
+        long slot = slots.getOpaque((int) key & mask);
+        if (slot != 0 && ((slot ^ key) & KEY_MASK) == 0) {
+            hits++;
+            return (short) slot;
+        }
+        misses++;
+        return MISS;
+    }
+
+    /**
+     * Caches the evaluation of a position, replacing whatever was in its slot.
+     * @param key the Zobrist key of the position
+     * @param score the score, which must fit in 16 bits
+     */
+    public void store(long key, int score) {
+        slots.setOpaque((int) key & mask, (key & KEY_MASK) | (score & 0xFFFF));
+    }
+
+    /**
+     * Empties the cache and resets its counters.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setOpaque(i, 0L);
+        }
+        resetStatistics();
+    }
+
+    /**
+     * Returns the number of probes that were hits since the statistics were last reset.
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of probes that were misses since the statistics were last reset.
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the share of probes that were hits.
+     * @return the hit rate from 0 to 1, or 0 if there have been no probes
+     */
+    public double getHitRate() {
+        long probes = hits + misses;
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,176 @@
+package search;
+
+import chess_game.PieceSquareTables;
+import chess_game.Position;
+
+/**
+ * Evaluator scores a position statically, without searching it, from the point of view of the side to move. The
+ * score is made of:
+ * the material and piece-square value of every piece (see PieceSquareTables), which Position keeps up to date as
+ * moves are made and unmade,
+ * the pawn structure (see PawnStructure), cached by pawn key in a PawnHashTable,
+ * the pawns sheltering each King in the middlegame,
+ * and in the endgame how much closer each side's King is than the enemy King to its passed pawns.
+ * Middlegame and endgame values are tapered by the game phase, so the score shifts smoothly between the two as
+ * pieces are traded.
+ *
+ * Evaluations are looked up in an EvalCache before they are computed. The cache may be private or shared with
+ * the Evaluators of other threads, but an Evaluator owns its PawnHashTable, so each search thread needs its own.
+ * @author Riley Muessig
+ */
+public class Evaluator {
+
+    /**
+     * Rough value of each piece type in centipawns, indexed by Position piece type, used to order and prune
+     * captures. The King is never traded, so it has no material value.
+     */
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    /**
+     * Middlegame bonus for each pawn sheltering its King
+     */
+    private static final int SHIELD_BONUS = 12;
+
+    /**
+     * Endgame bonus per square that a King is closer than the enemy King to the square in front of a passed pawn
+     */
+    private static final int PASSED_KING_DISTANCE = 4;
+
+    /**
+     * Squares one and two rows in front of a King of each color on each square, on its own and adjacent files
+     */
+    private static final long[][] SHIELD_MASKS = new long[2][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int row = square / 8;
+            int col = square % 8;
+            for (int d = 1; d <= 2; d++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, 7); c++) {
+                    if (row - d >= 0) {
+                        SHIELD_MASKS[Position.WHITE][square] |= 1L << Position.square(row - d, c);
+                    }
+                    if (row + d <= 7) {
+                        SHIELD_MASKS[Position.BLACK][square] |= 1L << Position.square(row + d, c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache of pawn structure scores
+     */
+    private final PawnHashTable pawnTable;
+
+    /**
+     * Cache of evaluations by Zobrist key
+     */
+    private final EvalCache cache;
+
+    /**
+     * Constructor for an Evaluator with its own pawn hash table and evaluation cache of the default sizes.
+     */
+    public Evaluator() {
+        this(new EvalCache());
+    }
+
+    /**
+     * Constructor for an Evaluator with its own pawn hash table of the default size.
+     * @param cache the evaluation cache, which may be shared with other Evaluators
+     */
+    public Evaluator(EvalCache cache) {
+        pawnTable = new PawnHashTable();
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the static score of a position, from the evaluation cache if it is there.
+     * @param position the position
+     * @return the score in centipawns, positive if the side to move is better
+     */
+    public int evaluate(Position position) {
+        long key = position.getKey();
+        int score = cache.probe(key);
+        if (score == EvalCache.MISS) {
+            score = compute(position);
+            cache.store(key, score);
+        }
+        return score;
+    }
+
+    /**
+     * Computes the static score of a position.
+     * @param position the position
+     * @return the score in centipawns, positive if the side to move is better
+     */
+    private int compute(Position position) {
+        int entry = pawnTable.probe(position);
+        int pawns = pawnTable.score(entry);
+        int middlegame = position.getMiddlegameScore() + PawnStructure.middlegame(pawns)
+                + shield(position, Position.WHITE) - shield(position, Position.BLACK);
+        int endgame = position.getEndgameScore() + PawnStructure.endgame(pawns)
+                + passedKingDistance(position, Position.WHITE, pawnTable.passedPawns(entry, Position.WHITE))
+                - passedKingDistance(position, Position.BLACK, pawnTable.passedPawns(entry, Position.BLACK));
+        int phase = Math.min(position.getPhase(), PieceSquareTables.MAX_PHASE);
+        int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+        return position.getSideToMove() == Position.WHITE ? score : -score;
+    }
+
+    /**
+     * Returns the evaluation cache.
+     * @return the cache of evaluations, with its hit counters
+     */
+    public EvalCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the pawn hash table.
+     * @return the cache of pawn structure scores, with its hit counters
+     */
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+
+    /**
+     * Scores the pawns in front of a King.
+     * @param position the position
+     * @param color the color of the King
+     * @return the middlegame bonus
+     */
+    private static int shield(Position position, int color) {
+        long shield = SHIELD_MASKS[color][position.getKingSquare(color)] & position.getPieces(color, Position.PAWN);
+        return SHIELD_BONUS * Long.bitCount(shield);
+    }
+
+    /**
+     * Scores how much closer a color's King is than the enemy King to the stop square of each of its passed pawns.
+     * @param position the position
+     * @param color the color of the passed pawns
+     * @param passed bitboard of the passed pawns
+     * @return the endgame bonus
+     */
+    private static int passedKingDistance(Position position, int color, long passed) {
+        int king = position.getKingSquare(color);
+        int enemyKing = position.getKingSquare(color ^ 1);
+        int score = 0;
+        for (; passed != 0; passed &= passed - 1) {
+            int square = Long.numberOfTrailingZeros(passed);
+            int stop = color == Position.WHITE ? square - 8 : square + 8;
+            score += PASSED_KING_DISTANCE * (distance(enemyKing, stop) - distance(king, stop));
+        }
+        return score;
+    }
+
+    /**
+     * Returns the number of King moves between two squares.
+     * @param a a square index
+     * @param b a square index
+     * @return the distance
+     */
+    private static int distance(int a, int b) {
+        return Math.max(Math.abs(a / 8 - b / 8), Math.abs(a % 8 - b % 8));
+    }
+}
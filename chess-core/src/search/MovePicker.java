@@ -0,0 +1,293 @@
+package search;
+
+import chess_game.Move;
+import chess_game.MoveGenerator;
+import chess_game.MoveList;
+import chess_game.Position;
+
+/**
+ * MovePicker hands out the legal moves of a position one at a time, best first, so that a search that cuts off
+ * after the first few moves never pays for generating or ordering the rest. Moves are tried in stages:
+ * 1. the hash move, the best move stored for the position in the transposition table,
+ * 2. captures and promotions, most valuable victim first and then least valuable attacker first (MVV-LVA),
+ * 3. killer moves, quiet moves that caused a cutoff in a sibling position at the same ply,
+ * 4. the other quiet moves, ordered by how often they have caused cutoffs anywhere in the tree (history).
+ *
+ * Each stage is only generated once the stages before it are used up. The hash move and the killers come from
+ * other positions (a hash collision, or a sibling), so they are checked for legality on the board before they are
+ * handed out, and are not handed out again by the later stages. Within a stage, next selects the best remaining
+ * move, so moves after a cutoff are never sorted. A MovePicker is allocated once per ply and reused. For
+ * quiescence search it can instead hand out only the captures and Queen promotions, by MVV-LVA.
+ * @author Riley Muessig
+ */
+public class MovePicker {
+
+    /**
+     * The stages, in the order they are gone through
+     */
+    private static final int HASH = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int KILLERS = 3;
+    private static final int GENERATE_QUIETS = 4;
+    private static final int QUIETS = 5;
+    private static final int DONE = 6;
+
+    /**
+     * The generated moves of the current stage
+     */
+    private final MoveList moves;
+
+    /**
+     * The ordering score of each generated move
+     */
+    private final int[] scores;
+
+    /**
+     * Pseudo-legal moves of a single piece, for checking the hash move and killers
+     */
+    private final MoveList pieceMoves;
+
+    /**
+     * The position moves are picked for, and the moves from other positions that are tried first
+     */
+    private Position position;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int[] history;
+
+    /**
+     * The current stage, and whether or not the picking ends after the captures
+     */
+    private int stage;
+    private boolean capturesOnly;
+
+    /**
+     * The number of generated moves to hand out in the current stage, which is less than the number generated
+     * when the hash move or killers are left out, or when only captures are
+     */
+    private int size;
+
+    /**
+     * The number of moves of the current stage already handed out, or of killers already tried
+     */
+    private int picked;
+
+    /**
+     * The number of legal captures and promotions, counting those left out by initCaptures
+     */
+    private int tacticalMoves;
+
+    /**
+     * Constructor for a MovePicker.
+     */
+    public MovePicker() {
+        moves = new MoveList();
+        scores = new int[MoveList.CAPACITY];
+        pieceMoves = new MoveList();
+    }
+
+    /**
+     * Prepares to hand out every legal move of a position. Nothing is generated until next is called.
+     * @param position the position, which must not be changed while moves are picked except by moves that are
+     * unmade again
+     * @param hashMove the hash move, or Move.NONE
+     * @param killer1 the first killer move of the ply, or Move.NONE
+     * @param killer2 the second killer move of the ply, or Move.NONE
+     * @param history the history scores of the side to move, indexed by from * 64 + to
+     */
+    public void init(Position position, int hashMove, int killer1, int killer2, int[] history) {
+        this.position = position;
+        this.hashMove = hashMove;
+        this.killer1 = killer1;
+        this.killer2 = killer2;
+        this.history = history;
+        stage = HASH;
+        capturesOnly = false;
+    }
+
+    /**
+     * Generates the legal captures and promotions of a position and keeps the captures and Queen promotions,
+     * scored by MVV-LVA.
+     * @param position the position
+     */
+    public void initCaptures(Position position) {
+        this.position = position;
+        hashMove = Move.NONE;
+        moves.clear();
+        MoveGenerator.generateLegalCaptures(position, moves);
+        tacticalMoves = moves.size();
+        picked = 0;
+        size = 0;
+        for (int i = 0; i < tacticalMoves; i++) {
+            int move = moves.get(i);
+            if (Move.isCapture(move) || Move.promotion(move) == Position.QUEEN) {
+                moves.set(size, move);
+                scores[size++] = mvvLva(position, move);
+            }
+        }
+        stage = CAPTURES;
+        capturesOnly = true;
+    }
+
+    /**
+     * Returns the best move not yet handed out, generating the next stage when the current one is used up.
+     * @return the packed move, or Move.NONE once every move has been handed out
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case HASH:
+                    stage = GENERATE_CAPTURES;
+                    if (hashMove != Move.NONE && isLegal(hashMove)) {
+                        return hashMove;
+                    }
+                    hashMove = Move.NONE;
+                    break;
+                case GENERATE_CAPTURES:
+                    moves.clear();
+                    MoveGenerator.generateLegalCaptures(position, moves);
+                    score(true);
+                    stage = CAPTURES;
+                    break;
+                case CAPTURES:
+                    if (picked < size) {
+                        return pickBest();
+                    }
+                    stage = capturesOnly ? DONE : KILLERS;
+                    picked = 0;
+                    break;
+                case KILLERS:
+                    while (picked < 2) {
+                        int killer = picked++ == 0 ? killer1 : killer2;
+                        // Captures and promotions were handed out by the capture stage already
+                        if (killer != Move.NONE && killer != hashMove && (picked == 1 || killer != killer1)
+                                && !Move.isCapture(killer) && !Move.isPromotion(killer) && isLegal(killer)) {
+                            return killer;
+                        }
+                    }
+                    stage = GENERATE_QUIETS;
+                    break;
+                case GENERATE_QUIETS:
+                    moves.clear();
+                    MoveGenerator.generateLegalQuiets(position, moves);
+                    score(false);
+                    stage = QUIETS;
+                    break;
+                case QUIETS:
+                    if (picked < size) {
+                        return pickBest();
+                    }
+                    stage = DONE;
+                    break;
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the position passed to initCaptures has any legal move, generating its quiet moves only if
+     * it has no legal captures or promotions.
+     * @return whether or not the side to move has a legal move
+     */
+    public boolean hasLegalMove() {
+        if (tacticalMoves > 0) {
+            return true;
+        }
+        pieceMoves.clear();
+        MoveGenerator.generateLegalQuiets(position, pieceMoves);
+        return pieceMoves.size() > 0;
+    }
+
+    /**
+     * Scores the generated moves of a stage, leaving out the moves an earlier stage already handed out.
+     * @param captures true for captures and promotions, scored by MVV-LVA, false for quiet moves, scored by history
+     */
+    private void score(boolean captures) {
+        picked = 0;
+        size = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == hashMove) {
+                continue;
+            }
+            int score;
+            if (captures) {
+                score = mvvLva(position, move);
+            } else if (move == killer1 || move == killer2) {
+                // Handed out by the killer stage, which only skips a killer if it is not legal here
+                continue;
+            } else {
+                score = history[Move.from(move) << 6 | Move.to(move)];
+            }
+            moves.set(size, move);
+            scores[size++] = score;
+        }
+    }
+
+    /**
+     * Hands out the best remaining generated move of the current stage.
+     * @return the packed move
+     */
+    private int pickBest() {
+        int best = picked;
+        for (int i = picked + 1; i < size; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        int score = scores[best];
+        moves.set(best, moves.get(picked));
+        scores[best] = scores[picked];
+        moves.set(picked, move);
+        scores[picked] = score;
+        picked++;
+        return move;
+    }
+
+    /**
+     * Returns true if a move from another position is legal in this one: the side to move has a piece on its
+     * square that can make it, with the same flags, and it does not leave the King in check.
+     * @param move the packed move
+     * @return whether or not the move is legal
+     */
+    private boolean isLegal(int move) {
+        int us = position.getSideToMove();
+        int piece = position.getPiece(Move.from(move));
+        if (piece == Position.EMPTY || Position.pieceColor(piece) != us) {
+            return false;
+        }
+        pieceMoves.clear();
+        MoveGenerator.generatePieceMoves(position, Move.from(move), pieceMoves);
+        if (!pieceMoves.contains(move)) {
+            return false;
+        }
+        position.makeMove(move);
+        boolean legal = !position.isSquareAttacked(position.getKingSquare(us), us ^ 1);
+        position.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * Scores a capture or promotion by the value of the captured piece and then the value of the capturing
+     * piece. A promotion adds the value the pawn gains.
+     * @param position the position
+     * @param move the packed move
+     * @return the MVV-LVA score
+     */
+    private static int mvvLva(Position position, int move) {
+        int victim = 0;
+        if (Move.isEnPassant(move)) {
+            victim = Evaluator.PIECE_VALUES[Position.PAWN];
+        } else if (Move.isCapture(move)) {
+            victim = Evaluator.PIECE_VALUES[Position.pieceType(position.getPiece(Move.to(move)))];
+        }
+        if (Move.isPromotion(move)) {
+            victim += Evaluator.PIECE_VALUES[Move.promotion(move)] - Evaluator.PIECE_VALUES[Position.PAWN];
+        }
+        return victim * 8 - Position.pieceType(position.getPiece(Move.from(move)));
+    }
+}
@@ -0,0 +1,175 @@
+package search;
+
+import chess_game.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * ParallelSearch searches one position on several threads at once (Lazy SMP). Every thread runs its own Searcher
+ * on its own copy of the position, and the threads share nothing but the TranspositionTable. Results one thread
+ * stores cut off and order the searches of the others, so together they reach a given depth sooner than one
+ * thread alone. Half of the helper threads start one ply deeper than the main thread so that they spread out over
+ * the tree instead of all searching the same nodes.
+ *
+ * The main Searcher runs on the calling thread and its result is returned. The helpers run on a pool of daemon
+ * threads that is kept between searches until shutdown is called, and are stopped as soon as the main Searcher
+ * finishes. The node limit applies to the main thread's nodes only.
+ * @author Riley Muessig
+ */
+public class ParallelSearch {
+
+    /**
+     * The table shared by every thread
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The Searcher run on the calling thread
+     */
+    private final Searcher main;
+
+    /**
+     * The Searchers run on the pool, one per helper thread
+     */
+    private final Searcher[] helpers;
+
+    /**
+     * The pool the helpers run on, or null if there are none
+     */
+    private final ExecutorService pool;
+
+    /**
+     * Constructor for a ParallelSearch.
+     * @param threads the total number of search threads, including the calling thread
+     * @param table the transposition table shared by every thread
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one search thread is needed: " + threads);
+        }
+        this.table = table;
+        main = new Searcher(table);
+        helpers = new Searcher[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Searcher(table);
+        }
+        if (helpers.length > 0) {
+            pool = Executors.newFixedThreadPool(helpers.length, runnable -> {
+                Thread thread = new Thread(runnable, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            pool = null;
+        }
+    }
+
+    /**
+     * Searches a position on every thread until the main thread reaches one of the limits.
+     * @param position the position to search, which is not changed
+     * @param limits the limits of the search
+     * @return the main thread's result, counting the nodes of every thread
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        table.newSearch();
+        main.reset();
+        // Only the main thread's TimeManager decides when to stop, and the helpers are stopped with it. Only the
+        // main thread's iterations are reported, counting the nodes the helpers have searched so far.
+        SearchLimits helperLimits = new SearchLimits().setDepth(limits.getDepth()).setNodes(limits.getNodes())
+                .setTimeMillis(limits.getTimeMillis());
+        SearchLimits mainLimits = limits;
+        Consumer<SearchResult> listener = limits.getIterationListener();
+        if (listener != null && helpers.length > 0) {
+            mainLimits = new SearchLimits().setDepth(limits.getDepth()).setNodes(limits.getNodes())
+                    .setTimeMillis(limits.getTimeMillis()).setIterationListener(
+                            iteration -> listener.accept(new SearchResult(iteration.getLines(),
+                                    iteration.getNodes() + helperNodes())));
+            if (limits.getTimeManager() != null) {
+                mainLimits.setTimeManager(limits.getTimeManager());
+            }
+        }
+        List<Future<SearchResult>> futures = new ArrayList<>();
+        for (int i = 0; i < helpers.length; i++) {
+            Searcher helper = helpers[i];
+            int firstDepth = 1 + i % 2;
+            helper.reset();
+            futures.add(pool.submit(() -> helper.iterate(position, helperLimits, firstDepth)));
+        }
+        SearchResult result = main.iterate(position, mainLimits, 1);
+        long nodes = result.getNodes();
+        for (Searcher helper : helpers) {
+            helper.stop();
+        }
+        for (Future<SearchResult> future : futures) {
+            try {
+                nodes += future.get().getNodes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+        return new SearchResult(result.getLines(), nodes);
+    }
+
+    /**
+     * Returns the number of nodes the helpers have searched, which is approximate while they are running.
+     * @return the node count of every helper
+     */
+    private long helperNodes() {
+        long nodes = 0;
+        for (Searcher helper : helpers) {
+            nodes += helper.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Sets the selective search techniques every thread uses. Must not be called while a search is running.
+     * @param options the options
+     */
+    public void setOptions(SearchOptions options) {
+        main.setOptions(options);
+        for (Searcher helper : helpers) {
+            helper.setOptions(options);
+        }
+    }
+
+    /**
+     * Ends the running search as soon as possible. Safe to call from any thread.
+     */
+    public void stop() {
+        main.stop();
+    }
+
+    /**
+     * Returns the number of search threads.
+     * @return the number of threads, including the calling thread
+     */
+    public int getThreads() {
+        return helpers.length + 1;
+    }
+
+    /**
+     * Returns the transposition table.
+     * @return the table shared by every thread
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Stops the helper threads. The ParallelSearch can not be used afterwards.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package search;
+
+import chess_game.Position;
+
+/**
+ * PawnHashTable caches the PawnStructure score and the passed pawns of each pawn placement, keyed by the pawn key
+ * of a Position. Most moves do not move a pawn, so almost every probe during a search is a hit and the pawn
+ * structure is scored only when it changes. Counters of probes and hits report how well the cache works.
+ *
+ * A PawnHashTable is meant for a single search thread, so it needs no verification against torn writes.
+ * @author Riley Muessig
+ */
+public class PawnHashTable {
+
+    /**
+     * Default number of entries
+     */
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    /**
+     * The pawn key of each entry. The arrays start out zeroed, which is already the correct entry for the pawn
+     * key 0 of a position without pawns.
+     */
+    private final long[] keys;
+
+    /**
+     * The packed PawnStructure score of each entry
+     */
+    private final int[] scores;
+
+    /**
+     * The passed pawns of each entry, white then black
+     */
+    private final long[] passedPawns;
+
+    /**
+     * Mask that maps a key to an entry index
+     */
+    private final int mask;
+
+    /**
+     * Statistics
+     */
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructor for a PawnHashTable of the default size.
+     */
+    public PawnHashTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /**
+     * Constructor for a PawnHashTable of the largest power of two number of entries that fits.
+     * @param entries the maximum number of entries
+     */
+    public PawnHashTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, 1));
+        keys = new long[size];
+        scores = new int[size];
+        passedPawns = new long[size * 2];
+        mask = size - 1;
+    }
+
+    /**
+     * Finds the entry of a position's pawns, scoring the pawns and storing them in the entry if they are not
+     * already cached.
+     * @param position the position
+     * @return the index of the entry
+     */
+    public int probe(Position position) {
+        long key = position.getPawnKey();
+        int index = (int) key & mask;
+        probes++;
+        if (keys[index] == key) {
+            hits++;
+            return index;
+        }
+        long white = PawnStructure.passedPawns(position, Position.WHITE);
+        long black = PawnStructure.passedPawns(position, Position.BLACK);
+        keys[index] = key;
+        scores[index] = PawnStructure.evaluate(position, white, black);
+        passedPawns[index * 2] = white;
+        passedPawns[index * 2 + 1] = black;
+        return index;
+    }
+
+    /**
+     * Returns the pawn structure score of an entry.
+     * @param index the index of the entry
+     * @return the packed score, from white's point of view
+     */
+    public int score(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Returns the passed pawns of a color in an entry.
+     * @param index the index of the entry
+     * @param color the color of the pawns
+     * @return bitboard of the passed pawns
+     */
+    public long passedPawns(int index, int color) {
+        return passedPawns[index * 2 + color];
+    }
+
+    /**
+     * Returns the number of probes since the statistics were last reset.
+     * @return the number of probes
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns the number of probes that were hits since the statistics were last reset.
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the share of probes that were hits.
+     * @return the hit rate from 0 to 1, or 0 if there have been no probes
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * Resets the probe and hit counters.
+     */
+    public void resetStatistics() {
+        probes = 0;
+        hits = 0;
+    }
+}
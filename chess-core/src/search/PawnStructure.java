@@ -0,0 +1,171 @@
+package search;
+
+import chess_game.Attacks;
+import chess_game.Position;
+
+/**
+ * PawnStructure scores the pawns of a position on their own: doubled, isolated and backward pawns are penalized
+ * and passed pawns are rewarded by how far they have advanced. The score depends on nothing but the placement of
+ * the pawns, so PawnHashTable caches it by the position's pawn key.
+ *
+ * Scores pack a middlegame and an endgame value into one int (see pack), from white's point of view.
+ * @author Riley Muessig
+ */
+public final class PawnStructure {
+
+    /**
+     * Penalties and bonuses, as packed middlegame and endgame values
+     */
+    private static final int DOUBLED = pack(-10, -20);
+    private static final int ISOLATED = pack(-10, -15);
+    private static final int BACKWARD = pack(-8, -10);
+
+    /**
+     * Passed pawn bonus by relative rank, from a pawn's own second rank (index 1) to its seventh (index 6)
+     */
+    private static final int[] PASSED = {
+            0, pack(5, 10), pack(10, 20), pack(15, 35), pack(30, 60), pack(50, 100), pack(80, 150), 0
+    };
+
+    /**
+     * Bitboard of each file
+     */
+    private static final long[] FILES = new long[8];
+
+    /**
+     * Bitboard of the files beside each file
+     */
+    private static final long[] ADJACENT_FILES = new long[8];
+
+    /**
+     * Squares a pawn of each color on each square must pass on its own and adjacent files, which must hold no
+     * enemy pawn for it to be passed
+     */
+    private static final long[][] PASSED_MASKS = new long[2][64];
+
+    /**
+     * Squares on the adjacent files level with or behind a pawn of each color on each square, where a friendly
+     * pawn could still protect it
+     */
+    private static final long[][] SUPPORT_MASKS = new long[2][64];
+
+    static {
+        for (int col = 0; col < 8; col++) {
+            FILES[col] = 0x0101010101010101L << col;
+        }
+        for (int col = 0; col < 8; col++) {
+            ADJACENT_FILES[col] = (col > 0 ? FILES[col - 1] : 0L) | (col < 7 ? FILES[col + 1] : 0L);
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = square / 8;
+            int col = square % 8;
+            // Rows are numbered from the top, so white pawns advance towards row 0 and black pawns towards row 7.
+            long aboveRow = (1L << (row * 8)) - 1;
+            long belowRow = row == 7 ? 0L : -1L << ((row + 1) * 8);
+            long sameAndAdjacent = FILES[col] | ADJACENT_FILES[col];
+            PASSED_MASKS[Position.WHITE][square] = aboveRow & sameAndAdjacent;
+            PASSED_MASKS[Position.BLACK][square] = belowRow & sameAndAdjacent;
+            SUPPORT_MASKS[Position.WHITE][square] = ~aboveRow & ADJACENT_FILES[col];
+            SUPPORT_MASKS[Position.BLACK][square] = ~belowRow & ADJACENT_FILES[col];
+        }
+    }
+
+    /**
+     * PawnStructure only holds static methods and cannot be instantiated.
+     */
+    private PawnStructure() {
+    }
+
+    /**
+     * Packs a middlegame and an endgame value into one int, so that both can be summed with a single addition.
+     * @param middlegame the middlegame value
+     * @param endgame the endgame value
+     * @return the packed value
+     */
+    public static int pack(int middlegame, int endgame) {
+        return (middlegame << 16) + endgame;
+    }
+
+    /**
+     * Returns the middlegame value of a packed value.
+     * @param packed the packed value
+     * @return the middlegame value
+     */
+    public static int middlegame(int packed) {
+        return (packed + 0x8000) >> 16;
+    }
+
+    /**
+     * Returns the endgame value of a packed value.
+     * @param packed the packed value
+     * @return the endgame value
+     */
+    public static int endgame(int packed) {
+        return (short) packed;
+    }
+
+    /**
+     * Returns the passed pawns of a color.
+     * @param position the position
+     * @param color the color of the pawns
+     * @return bitboard of the pawns with no enemy pawn in front of them on their own or adjacent files
+     */
+    public static long passedPawns(Position position, int color) {
+        long enemies = position.getPieces(color ^ 1, Position.PAWN);
+        long passed = 0L;
+        for (long pawns = position.getPieces(color, Position.PAWN); pawns != 0; pawns &= pawns - 1) {
+            int square = Long.numberOfTrailingZeros(pawns);
+            if ((PASSED_MASKS[color][square] & enemies) == 0) {
+                passed |= 1L << square;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Scores the pawn structure of both colors.
+     * @param position the position
+     * @param whitePassed the passed pawns of white
+     * @param blackPassed the passed pawns of black
+     * @return the packed score, from white's point of view
+     */
+    public static int evaluate(Position position, long whitePassed, long blackPassed) {
+        return evaluate(position, Position.WHITE, whitePassed) - evaluate(position, Position.BLACK, blackPassed);
+    }
+
+    /**
+     * Scores the pawn structure of one color.
+     * @param position the position
+     * @param color the color
+     * @param passed the passed pawns of the color
+     * @return the packed score, from the color's point of view
+     */
+    private static int evaluate(Position position, int color, long passed) {
+        long own = position.getPieces(color, Position.PAWN);
+        long enemies = position.getPieces(color ^ 1, Position.PAWN);
+        int score = 0;
+        for (int col = 0; col < 8; col++) {
+            int count = Long.bitCount(own & FILES[col]);
+            if (count > 1) {
+                score += DOUBLED * (count - 1);
+            }
+        }
+        for (long pawns = own; pawns != 0; pawns &= pawns - 1) {
+            int square = Long.numberOfTrailingZeros(pawns);
+            int col = square % 8;
+            if ((own & ADJACENT_FILES[col]) == 0) {
+                score += ISOLATED;
+            } else if ((own & SUPPORT_MASKS[color][square]) == 0) {
+                int stop = color == Position.WHITE ? square - 8 : square + 8;
+                if ((Attacks.pawnAttacks(color, stop) & enemies) != 0) {
+                    score += BACKWARD;
+                }
+            }
+            if ((passed & (1L << square)) != 0) {
+                int relativeRank = color == Position.WHITE ? 7 - square / 8 : square / 8;
+                score += PASSED[relativeRank];
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,142 @@
+package search;
+
+import java.util.function.Consumer;
+
+/**
+ * SearchLimits holds the limits that end a search: a maximum depth, a maximum number of nodes and a maximum
+ * time. The search stops at whichever limit is reached first. Every limit is unlimited until it is set.
+ * A TimeManager can also end the search between iterations, before its time limit, and an iteration listener is
+ * told the result of every iteration as soon as it is done.
+ * @author Riley Muessig
+ */
+public class SearchLimits {
+
+    /**
+     * The maximum depth in plies
+     */
+    private int depth;
+
+    /**
+     * The maximum number of nodes
+     */
+    private long nodes;
+
+    /**
+     * The maximum time in milliseconds
+     */
+    private long timeMillis;
+
+    /**
+     * Decides between iterations whether to stop early, or null to always search until a limit is reached
+     */
+    private TimeManager timeManager;
+
+    /**
+     * Called with the result of every iteration, or null if nobody is listening
+     */
+    private Consumer<SearchResult> iterationListener;
+
+    /**
+     * Constructor for SearchLimits with no limits.
+     */
+    public SearchLimits() {
+        depth = Searcher.MAX_PLY - 1;
+        nodes = Long.MAX_VALUE;
+        timeMillis = Long.MAX_VALUE;
+        timeManager = null;
+        iterationListener = null;
+    }
+
+    /**
+     * Returns the maximum depth.
+     * @return the maximum depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the maximum depth.
+     * @param depth the maximum depth in plies
+     * @return these limits
+     */
+    public SearchLimits setDepth(int depth) {
+        this.depth = Math.max(1, Math.min(depth, Searcher.MAX_PLY - 1));
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of nodes.
+     * @return the node limit
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Sets the maximum number of nodes.
+     * @param nodes the node limit
+     * @return these limits
+     */
+    public SearchLimits setNodes(long nodes) {
+        this.nodes = nodes;
+        return this;
+    }
+
+    /**
+     * Returns the maximum time.
+     * @return the time limit in milliseconds
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Sets the maximum time.
+     * @param timeMillis the time limit in milliseconds
+     * @return these limits
+     */
+    public SearchLimits setTimeMillis(long timeMillis) {
+        this.timeMillis = timeMillis;
+        return this;
+    }
+
+    /**
+     * Returns the TimeManager.
+     * @return the TimeManager, or null if there is none
+     */
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+
+    /**
+     * Sets a started TimeManager, which is asked after every iteration whether to stop. Its hard deadline becomes
+     * the time limit if it is lower.
+     * @param timeManager the TimeManager, already started for the position to search
+     * @return these limits
+     */
+    public SearchLimits setTimeManager(TimeManager timeManager) {
+        this.timeManager = timeManager;
+        timeMillis = Math.min(timeMillis, timeManager.getHardMillis());
+        return this;
+    }
+
+    /**
+     * Returns the iteration listener.
+     * @return the listener, or null if there is none
+     */
+    public Consumer<SearchResult> getIterationListener() {
+        return iterationListener;
+    }
+
+    /**
+     * Sets a listener that is called on the searching thread with the result of every iteration, ex: to send UCI
+     * info lines while the search runs. An iteration cut short by a limit is only reported if it is the first.
+     * @param iterationListener the listener
+     * @return these limits
+     */
+    public SearchLimits setIterationListener(Consumer<SearchResult> iterationListener) {
+        this.iterationListener = iterationListener;
+        return this;
+    }
+}
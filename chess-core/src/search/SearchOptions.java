@@ -0,0 +1,427 @@
+package search;
+
+/**
+ * SearchOptions switches the selective parts of the search on and off and holds their tuning parameters, so that
+ * the effect of each one on time to depth and on playing strength can be measured on its own. Every technique is
+ * on by default.
+ *
+ * Null move pruning: the side to move passes, and if a reduced search still fails high the position is cut off.
+ * It is skipped when the side to move has only pawns left, where passing may really be the best move (zugzwang).
+ * Late move reductions: quiet moves ordered late are searched to a reduced depth first, taken from a table
+ * indexed by depth and move number, and searched again at full depth only if they beat alpha.
+ * Futility pruning: near the leaves, quiet moves are skipped if the static evaluation plus a margin cannot
+ * reach alpha.
+ * Reverse futility pruning: near the leaves, a position is cut off if the static evaluation minus a margin
+ * still beats beta.
+ * Check extensions: a side in check is searched one ply deeper.
+ * Aspiration windows: each iteration is first searched with a narrow window around the previous iteration's
+ * score, and searched again with a wider window only if the score falls outside it.
+ * @author Riley Muessig
+ */
+public class SearchOptions {
+
+    /**
+     * Which techniques are used
+     */
+    private boolean nullMove = true;
+    private boolean lateMoveReductions = true;
+    private boolean futility = true;
+    private boolean reverseFutility = true;
+    private boolean checkExtensions = true;
+    private boolean aspirationWindows = true;
+
+    /**
+     * Number of best root moves to find a line for
+     */
+    private int multiPv = 1;
+
+    /**
+     * Half width of the first aspiration window in centipawns
+     */
+    private int aspirationWindow = 25;
+
+    /**
+     * Depth reduction of the null move search, on top of the ply that is passed
+     */
+    private int nullMoveReduction = 2;
+
+    /**
+     * Late move reduction table parameters: a move is reduced by base + ln(depth) * ln(moveNumber) / divisor
+     * plies, for moves after the first minMoves moves and at depths of at least minDepth
+     */
+    private double reductionBase = 0.75;
+    private double reductionDivisor = 2.25;
+    private int reductionMinMoves = 3;
+    private int reductionMinDepth = 3;
+
+    /**
+     * Futility margins in centipawns per ply of remaining depth, and the deepest depths they are applied at
+     */
+    private int futilityMargin = 150;
+    private int futilityDepth = 2;
+    private int reverseFutilityMargin = 120;
+    private int reverseFutilityDepth = 3;
+
+    /**
+     * Constructor for SearchOptions with every technique on.
+     */
+    public SearchOptions() {
+    }
+
+    /**
+     * Constructor for a copy of SearchOptions.
+     * @param other the options to copy
+     */
+    public SearchOptions(SearchOptions other) {
+        nullMove = other.nullMove;
+        lateMoveReductions = other.lateMoveReductions;
+        futility = other.futility;
+        reverseFutility = other.reverseFutility;
+        checkExtensions = other.checkExtensions;
+        aspirationWindows = other.aspirationWindows;
+        multiPv = other.multiPv;
+        aspirationWindow = other.aspirationWindow;
+        nullMoveReduction = other.nullMoveReduction;
+        reductionBase = other.reductionBase;
+        reductionDivisor = other.reductionDivisor;
+        reductionMinMoves = other.reductionMinMoves;
+        reductionMinDepth = other.reductionMinDepth;
+        futilityMargin = other.futilityMargin;
+        futilityDepth = other.futilityDepth;
+        reverseFutilityMargin = other.reverseFutilityMargin;
+        reverseFutilityDepth = other.reverseFutilityDepth;
+    }
+
+    /**
+     * Returns whether or not null move pruning is used.
+     * @return true if null move pruning is used
+     */
+    public boolean isNullMove() {
+        return nullMove;
+    }
+
+    /**
+     * Sets whether or not null move pruning is used.
+     * @param nullMove whether or not to use null move pruning
+     * @return these options
+     */
+    public SearchOptions setNullMove(boolean nullMove) {
+        this.nullMove = nullMove;
+        return this;
+    }
+
+    /**
+     * Returns whether or not late move reductions are used.
+     * @return true if late move reductions are used
+     */
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    /**
+     * Sets whether or not late move reductions are used.
+     * @param lateMoveReductions whether or not to use late move reductions
+     * @return these options
+     */
+    public SearchOptions setLateMoveReductions(boolean lateMoveReductions) {
+        this.lateMoveReductions = lateMoveReductions;
+        return this;
+    }
+
+    /**
+     * Returns whether or not futility pruning is used.
+     * @return true if futility pruning is used
+     */
+    public boolean isFutility() {
+        return futility;
+    }
+
+    /**
+     * Sets whether or not futility pruning is used.
+     * @param futility whether or not to use futility pruning
+     * @return these options
+     */
+    public SearchOptions setFutility(boolean futility) {
+        this.futility = futility;
+        return this;
+    }
+
+    /**
+     * Returns whether or not reverse futility pruning is used.
+     * @return true if reverse futility pruning is used
+     */
+    public boolean isReverseFutility() {
+        return reverseFutility;
+    }
+
+    /**
+     * Sets whether or not reverse futility pruning is used.
+     * @param reverseFutility whether or not to use reverse futility pruning
+     * @return these options
+     */
+    public SearchOptions setReverseFutility(boolean reverseFutility) {
+        this.reverseFutility = reverseFutility;
+        return this;
+    }
+
+    /**
+     * Returns whether or not check extensions are used.
+     * @return true if check extensions are used
+     */
+    public boolean isCheckExtensions() {
+        return checkExtensions;
+    }
+
+    /**
+     * Sets whether or not check extensions are used.
+     * @param checkExtensions whether or not to use check extensions
+     * @return these options
+     */
+    public SearchOptions setCheckExtensions(boolean checkExtensions) {
+        this.checkExtensions = checkExtensions;
+        return this;
+    }
+
+    /**
+     * Returns whether or not aspiration windows are used.
+     * @return true if aspiration windows are used
+     */
+    public boolean isAspirationWindows() {
+        return aspirationWindows;
+    }
+
+    /**
+     * Sets whether or not aspiration windows are used.
+     * @param aspirationWindows whether or not to use aspiration windows
+     * @return these options
+     */
+    public SearchOptions setAspirationWindows(boolean aspirationWindows) {
+        this.aspirationWindows = aspirationWindows;
+        return this;
+    }
+
+    /**
+     * Returns the number of best root moves a line is found for.
+     * @return the number of lines
+     */
+    public int getMultiPv() {
+        return multiPv;
+    }
+
+    /**
+     * Sets the number of best root moves a line is found for.
+     * @param multiPv the number of lines, at least 1
+     * @return these options
+     */
+    public SearchOptions setMultiPv(int multiPv) {
+        this.multiPv = Math.max(1, multiPv);
+        return this;
+    }
+
+    /**
+     * Returns the half width of the first aspiration window.
+     * @return the half width in centipawns
+     */
+    public int getAspirationWindow() {
+        return aspirationWindow;
+    }
+
+    /**
+     * Sets the half width of the first aspiration window.
+     * @param aspirationWindow the half width in centipawns
+     * @return these options
+     */
+    public SearchOptions setAspirationWindow(int aspirationWindow) {
+        this.aspirationWindow = aspirationWindow;
+        return this;
+    }
+
+    /**
+     * Returns the depth reduction of the null move search.
+     * @return the reduction in plies
+     */
+    public int getNullMoveReduction() {
+        return nullMoveReduction;
+    }
+
+    /**
+     * Sets the depth reduction of the null move search.
+     * @param nullMoveReduction the reduction in plies
+     * @return these options
+     */
+    public SearchOptions setNullMoveReduction(int nullMoveReduction) {
+        this.nullMoveReduction = nullMoveReduction;
+        return this;
+    }
+
+    /**
+     * Returns the constant term of the late move reduction table.
+     * @return the constant term in plies
+     */
+    public double getReductionBase() {
+        return reductionBase;
+    }
+
+    /**
+     * Sets the constant term of the late move reduction table.
+     * @param reductionBase the constant term in plies, at least 0
+     * @return these options
+     */
+    public SearchOptions setReductionBase(double reductionBase) {
+        if (!(reductionBase >= 0)) {
+            throw new IllegalArgumentException("Reduction base must not be negative: " + reductionBase);
+        }
+        this.reductionBase = reductionBase;
+        return this;
+    }
+
+    /**
+     * Returns the divisor of the late move reduction table.
+     * @return the divisor
+     */
+    public double getReductionDivisor() {
+        return reductionDivisor;
+    }
+
+    /**
+     * Sets the divisor of the late move reduction table.
+     * @param reductionDivisor the divisor, greater than 0
+     * @return these options
+     */
+    public SearchOptions setReductionDivisor(double reductionDivisor) {
+        if (!(reductionDivisor > 0)) {
+            throw new IllegalArgumentException("Reduction divisor must be positive: " + reductionDivisor);
+        }
+        this.reductionDivisor = reductionDivisor;
+        return this;
+    }
+
+    /**
+     * Returns how many moves are searched before late move reductions apply.
+     * @return the number of moves
+     */
+    public int getReductionMinMoves() {
+        return reductionMinMoves;
+    }
+
+    /**
+     * Sets how many moves are searched before late move reductions apply.
+     * @param reductionMinMoves the number of moves, at least 0
+     * @return these options
+     */
+    public SearchOptions setReductionMinMoves(int reductionMinMoves) {
+        if (reductionMinMoves < 0) {
+            throw new IllegalArgumentException("Reduction minimum moves must not be negative: " + reductionMinMoves);
+        }
+        this.reductionMinMoves = reductionMinMoves;
+        return this;
+    }
+
+    /**
+     * Returns the least depth late move reductions apply at.
+     * @return the depth in plies
+     */
+    public int getReductionMinDepth() {
+        return reductionMinDepth;
+    }
+
+    /**
+     * Sets the least depth late move reductions apply at.
+     * @param reductionMinDepth the depth in plies, at least 2 so that a reduced move is still searched one ply
+     * @return these options
+     */
+    public SearchOptions setReductionMinDepth(int reductionMinDepth) {
+        if (reductionMinDepth < 2) {
+            throw new IllegalArgumentException("Reduction minimum depth must be at least 2: " + reductionMinDepth);
+        }
+        this.reductionMinDepth = reductionMinDepth;
+        return this;
+    }
+
+    /**
+     * Returns the futility margin per ply of remaining depth.
+     * @return the margin in centipawns
+     */
+    public int getFutilityMargin() {
+        return futilityMargin;
+    }
+
+    /**
+     * Sets the futility margin per ply of remaining depth.
+     * @param futilityMargin the margin in centipawns
+     * @return these options
+     */
+    public SearchOptions setFutilityMargin(int futilityMargin) {
+        this.futilityMargin = futilityMargin;
+        return this;
+    }
+
+    /**
+     * Returns the deepest remaining depth futility pruning applies at.
+     * @return the depth in plies
+     */
+    public int getFutilityDepth() {
+        return futilityDepth;
+    }
+
+    /**
+     * Sets the deepest remaining depth futility pruning applies at.
+     * @param futilityDepth the depth in plies
+     * @return these options
+     */
+    public SearchOptions setFutilityDepth(int futilityDepth) {
+        this.futilityDepth = futilityDepth;
+        return this;
+    }
+
+    /**
+     * Returns the reverse futility margin per ply of remaining depth.
+     * @return the margin in centipawns
+     */
+    public int getReverseFutilityMargin() {
+        return reverseFutilityMargin;
+    }
+
+    /**
+     * Sets the reverse futility margin per ply of remaining depth.
+     * @param reverseFutilityMargin the margin in centipawns
+     * @return these options
+     */
+    public SearchOptions setReverseFutilityMargin(int reverseFutilityMargin) {
+        this.reverseFutilityMargin = reverseFutilityMargin;
+        return this;
+    }
+
+    /**
+     * Returns the deepest remaining depth reverse futility pruning applies at.
+     * @return the depth in plies
+     */
+    public int getReverseFutilityDepth() {
+        return reverseFutilityDepth;
+    }
+
+    /**
+     * Sets the deepest remaining depth reverse futility pruning applies at.
+     * @param reverseFutilityDepth the depth in plies
+     * @return these options
+     */
+    public SearchOptions setReverseFutilityDepth(int reverseFutilityDepth) {
+        this.reverseFutilityDepth = reverseFutilityDepth;
+        return this;
+    }
+
+    /**
+     * Returns the late move reduction table.
+     * @param size the number of depths and move numbers in the table
+     * @return the reduction in plies, indexed by depth and then move number
+     */
+    int[][] reductionTable(int size) {
+        int[][] table = new int[size][size];
+        for (int depth = 1; depth < size; depth++) {
+            for (int move = 1; move < size; move++) {
+                table[depth][move] = (int) (reductionBase + Math.log(depth) * Math.log(move) / reductionDivisor);
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,122 @@
+package search;
+
+import chess_game.Move;
+
+/**
+ * SearchResult holds the outcome of a search: the best move for the side to move, its score, and the principal
+ * variation (the line of best play for both sides that the score is based on). A MultiPV search also keeps the
+ * best line of each of the next best root moves, best first.
+ * @author Riley Muessig
+ */
+public class SearchResult {
+
+    /**
+     * The best move, as a packed int move (see Move)
+     */
+    private final int bestMove;
+
+    /**
+     * The score of the best move in centipawns, from the side to move's point of view
+     */
+    private final int score;
+
+    /**
+     * The depth of the last completed iteration
+     */
+    private final int depth;
+
+    /**
+     * The number of nodes searched
+     */
+    private final long nodes;
+
+    /**
+     * The principal variation, starting with the best move
+     */
+    private final int[] principalVariation;
+
+    /**
+     * Every line of a MultiPV search, starting with this one, or null if only one line was searched
+     */
+    private final SearchResult[] lines;
+
+    /**
+     * Constructor for a SearchResult.
+     * @param score the score of the best move
+     * @param depth the depth of the last completed iteration
+     * @param nodes the number of nodes searched
+     * @param principalVariation the principal variation, starting with the best move
+     */
+    public SearchResult(int score, int depth, long nodes, int[] principalVariation) {
+        this.bestMove = principalVariation.length > 0 ? principalVariation[0] : Move.NONE;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.principalVariation = principalVariation;
+        this.lines = null;
+    }
+
+    /**
+     * Constructor for the SearchResult of a MultiPV search, which takes its best move, score, depth and principal
+     * variation from the first line.
+     * @param lines the result of each line, best first
+     * @param nodes the number of nodes searched for every line together
+     */
+    public SearchResult(SearchResult[] lines, long nodes) {
+        this.bestMove = lines[0].bestMove;
+        this.score = lines[0].score;
+        this.depth = lines[0].depth;
+        this.nodes = nodes;
+        this.principalVariation = lines[0].principalVariation;
+        this.lines = lines.clone();
+        this.lines[0] = this;
+    }
+
+    /**
+     * Returns the best move.
+     * @return the packed move, or Move.NONE if the side to move has no legal moves
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Returns the score of the best move.
+     * @return the score in centipawns, from the side to move's point of view
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration.
+     * @return the depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of nodes searched.
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the principal variation.
+     * @return the packed moves of the principal variation, starting with the best move
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Returns every line of the search.
+     * @return the result of each line, best first, starting with this result
+     */
+    public SearchResult[] getLines() {
+        return lines == null ? new SearchResult[] {this} : lines.clone();
+    }
+}
@@ -0,0 +1,716 @@
+package search;
+
+import chess_game.Move;
+import chess_game.MoveGenerator;
+import chess_game.MoveList;
+import chess_game.Position;
+
+/**
+ * Searcher finds the best move of a position with a principal variation search (PVS), deepened one ply at a time
+ * until one of its SearchLimits is reached. PVS searches the first move of each position with the full alpha-beta
+ * window and every later move with a null window that only proves it is no better, searching again with the full
+ * window when that proof fails. Each iteration starts with a narrow aspiration window around the previous score,
+ * searches the previous principal variation first, and collects the line of best play in a triangular table as
+ * the search unwinds. In MultiPV mode each iteration finds the best line, then the best line among the remaining
+ * root moves, and so on, every line after the first reusing the table entries of the lines before it.
+ *
+ * Elsewhere moves are ordered by a MovePicker, fed with killer moves and history scores that the search collects
+ * from its own cutoffs. Positions at the horizon are resolved by a quiescence search of captures, so that the
+ * static evaluation is never taken in the middle of an exchange. The tree is searched selectively, with null move
+ * pruning, late move reductions, futility pruning and check extensions, each of which can be switched off in
+ * SearchOptions. Results are remembered in a TranspositionTable, which cuts off positions already searched deeply
+ * enough and orders their best move first.
+ *
+ * The search runs on its own copy of the position, so the caller's position is never changed. It can be ended
+ * early from another thread with stop; the result of an iteration that was cut short is discarded.
+ * @author Riley Muessig
+ */
+public class Searcher {
+
+    /**
+     * The deepest ply the search can reach
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * Score of being checkmated at the root. Being mated n plies from the root scores -(MATE - n).
+     */
+    public static final int MATE = 32000;
+
+    /**
+     * Scores beyond this bound are mate scores
+     */
+    public static final int MATE_BOUND = MATE - MAX_PLY;
+
+    /**
+     * Score of a draw
+     */
+    public static final int DRAW = 0;
+
+    /**
+     * Bound wider than every score, used as the initial search window
+     */
+    private static final int INFINITY = MATE + 1;
+
+    /**
+     * How many nodes are searched between checks of the time limit
+     */
+    private static final int CHECK_INTERVAL = 2048;
+
+    /**
+     * Default size of the transposition table in megabytes
+     */
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    /**
+     * Results of positions already searched, which may be shared with other Searchers
+     */
+    private final TranspositionTable table;
+
+    /**
+     * History scores above this are halved, to keep them below the killer move band of MovePicker
+     */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /**
+     * Move picker of each ply, reused across the search
+     */
+    private final MovePicker[] pickers;
+
+    /**
+     * The selective search techniques in use
+     */
+    private SearchOptions options;
+
+    /**
+     * Late move reductions in plies, indexed by depth and move number
+     */
+    private int[][] reductions;
+
+    /**
+     * Static evaluator, with its own pawn hash table
+     */
+    private final Evaluator evaluator;
+
+    /**
+     * Static exchange evaluator, used to skip losing captures in quiescence search
+     */
+    private final StaticExchange exchange;
+
+    /**
+     * Two killer moves per ply: quiet moves that most recently caused a cutoff at that ply
+     */
+    private final int[][] killers;
+
+    /**
+     * History scores of quiet moves by side to move, indexed by from * 64 + to
+     */
+    private final int[][] history;
+
+    /**
+     * Triangular principal variation table: pvTable[ply] holds the best line found from ply, pvLength[ply] long
+     */
+    private final int[][] pvTable;
+    private final int[] pvLength;
+
+    /**
+     * Set from any thread to end the search
+     */
+    private volatile boolean stopped;
+
+    /**
+     * State of the running search
+     */
+    private Position position;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private int[] rootPrincipalVariation;
+    private boolean followingPv;
+
+    /**
+     * Root moves already given a line in the current MultiPV iteration, which the next line skips
+     */
+    private final int[] excludedRootMoves;
+    private int excludedCount;
+
+    /**
+     * Constructor for a Searcher with its own transposition table of the default size.
+     */
+    public Searcher() {
+        this(new TranspositionTable(DEFAULT_HASH_MEGABYTES));
+    }
+
+    /**
+     * Constructor for a Searcher.
+     * @param table the transposition table, which may be shared with other Searchers
+     */
+    public Searcher(TranspositionTable table) {
+        this(table, new Evaluator());
+    }
+
+    /**
+     * Constructor for a Searcher with a given evaluator, for example one whose EvalCache is shared.
+     * @param table the transposition table, which may be shared with other Searchers
+     * @param evaluator the static evaluator, which must not be used by any other Searcher
+     */
+    public Searcher(TranspositionTable table, Evaluator evaluator) {
+        this.table = table;
+        this.evaluator = evaluator;
+        setOptions(new SearchOptions());
+        pickers = new MovePicker[MAX_PLY];
+        for (int i = 0; i < MAX_PLY; i++) {
+            pickers[i] = new MovePicker();
+        }
+        exchange = new StaticExchange();
+        killers = new int[MAX_PLY][2];
+        history = new int[2][64 * 64];
+        pvTable = new int[MAX_PLY][MAX_PLY];
+        pvLength = new int[MAX_PLY];
+        excludedRootMoves = new int[MoveList.CAPACITY];
+    }
+
+    /**
+     * Searches a position until one of the limits is reached and returns the result of the deepest completed
+     * iteration. The first iteration is kept even if it was cut short, so that a move is always returned.
+     * @param position the position to search, which is not changed
+     * @param limits the limits of the search
+     * @return the result of the search
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        stopped = false;
+        table.newSearch();
+        return iterate(position, limits, 1);
+    }
+
+    /**
+     * Searches the root to a depth, first with a narrow window around the score of the previous iteration and then
+     * with wider windows until the score falls inside one.
+     * @param depth the depth in plies
+     * @param previousScore the score of the same line in the previous iteration
+     * @return the score of the root
+     */
+    private int aspirationSearch(int depth, int previousScore) {
+        int delta = options.getAspirationWindow();
+        int alpha = -INFINITY;
+        int beta = INFINITY;
+        if (options.isAspirationWindows() && depth >= 4 && Math.abs(previousScore) < MATE_BOUND) {
+            alpha = Math.max(previousScore - delta, -INFINITY);
+            beta = Math.min(previousScore + delta, INFINITY);
+        }
+        while (true) {
+            followingPv = true;
+            int score = negamax(depth, 0, alpha, beta, false);
+            if (stopped) {
+                return score;
+            }
+            if (score <= alpha && alpha > -INFINITY) {
+                alpha = Math.max(score - delta, -INFINITY);
+            } else if (score >= beta && beta < INFINITY) {
+                beta = Math.min(score + delta, INFINITY);
+            } else {
+                return score;
+            }
+            delta *= 2;
+        }
+    }
+
+    /**
+     * Returns the lines of a MultiPV search that have been found, dropping any that an interrupted first
+     * iteration did not reach.
+     * @param lines the lines, of which only a prefix may be set
+     * @return the set lines
+     */
+    private static SearchResult[] compact(SearchResult[] lines) {
+        int count = 0;
+        while (count < lines.length && lines[count] != null) {
+            count++;
+        }
+        SearchResult[] found = new SearchResult[count];
+        System.arraycopy(lines, 0, found, 0, count);
+        return found;
+    }
+
+    /**
+     * Sorts the lines of a MultiPV search from the highest score to the lowest, keeping lines of equal score in
+     * the order they were searched. The principal variations and scores the next iteration starts each line from
+     * are moved with their line.
+     * @param lines the lines, of which only a prefix may be set
+     * @param linePvs the principal variation of each line
+     * @param lineScores the score of each line
+     */
+    private static void rankLines(SearchResult[] lines, int[][] linePvs, int[] lineScores) {
+        for (int i = 1; i < lines.length && lines[i] != null; i++) {
+            SearchResult line = lines[i];
+            int[] pv = linePvs[i];
+            int score = lineScores[i];
+            int j = i;
+            for (; j > 0 && lines[j - 1].getScore() < line.getScore(); j--) {
+                lines[j] = lines[j - 1];
+                linePvs[j] = linePvs[j - 1];
+                lineScores[j] = lineScores[j - 1];
+            }
+            lines[j] = line;
+            linePvs[j] = pv;
+            lineScores[j] = score;
+        }
+    }
+
+    /**
+     * Clears the stop flag before a search started with iterate, so that a stop requested after this call is
+     * never lost.
+     */
+    void reset() {
+        stopped = false;
+    }
+
+    /**
+     * Runs iterative deepening from a given first depth without clearing the stop flag or starting a new table
+     * generation, for Searchers that are run as helpers of a ParallelSearch.
+     * @param position the position to search, which is not changed
+     * @param limits the limits of the search
+     * @param firstDepth the depth of the first iteration
+     * @return the result of the search
+     */
+    SearchResult iterate(Position position, SearchLimits limits, int firstDepth) {
+        long start = System.currentTimeMillis();
+        this.position = new Position(position);
+        nodes = 0;
+        nodeLimit = limits.getNodes();
+        deadline = limits.getTimeMillis() >= Long.MAX_VALUE - start ? Long.MAX_VALUE : start + limits.getTimeMillis();
+        rootPrincipalVariation = new int[0];
+        for (int[] killer : killers) {
+            killer[0] = Move.NONE;
+            killer[1] = Move.NONE;
+        }
+        ageHistory(history[Position.WHITE]);
+        ageHistory(history[Position.BLACK]);
+
+        MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegal(this.position, rootMoves);
+        int lineCount = Math.min(options.getMultiPv(), rootMoves.size());
+        if (lineCount == 0) {
+            int side = this.position.getSideToMove();
+            boolean inCheck = this.position.isSquareAttacked(this.position.getKingSquare(side), 1 - side);
+            return new SearchResult(inCheck ? -MATE : DRAW, 0, 0, rootPrincipalVariation);
+        }
+        // Returned if the search is stopped before the first line of the first iteration is found
+        SearchResult result = new SearchResult(DRAW, 0, 0, new int[] {rootMoves.get(0)});
+        SearchResult[] lines = new SearchResult[lineCount];
+        int[][] linePvs = new int[lineCount][0];
+        int[] lineScores = new int[lineCount];
+        for (int depth = firstDepth; depth <= limits.getDepth(); depth++) {
+            SearchResult[] iterationLines = new SearchResult[lineCount];
+            excludedCount = 0;
+            for (int line = 0; line < lineCount && !stopped; line++) {
+                rootPrincipalVariation = linePvs[line];
+                int score = aspirationSearch(depth, lineScores[line]);
+                if (stopped && (depth > firstDepth || pvLength[0] == 0)) {
+                    break;
+                }
+                linePvs[line] = new int[pvLength[0]];
+                System.arraycopy(pvTable[0], 0, linePvs[line], 0, pvLength[0]);
+                lineScores[line] = score;
+                iterationLines[line] = new SearchResult(score, depth, nodes, linePvs[line]);
+                excludedRootMoves[excludedCount++] = linePvs[line][0];
+            }
+            if (stopped && depth > firstDepth) {
+                break;
+            }
+            for (int line = 0; line < lineCount; line++) {
+                if (iterationLines[line] != null) {
+                    lines[line] = iterationLines[line];
+                }
+            }
+            if (lines[0] == null) {
+                break;
+            }
+            // A later line searched with the earlier best moves excluded may still score higher than them
+            rankLines(lines, linePvs, lineScores);
+            result = lineCount == 1 ? lines[0] : new SearchResult(compact(lines), nodes);
+            if (limits.getIterationListener() != null) {
+                limits.getIterationListener().accept(result);
+            }
+            if (stopped || (lineCount == 1 && Math.abs(result.getScore()) >= MATE_BOUND)) {
+                break;
+            }
+            if (limits.getTimeManager() != null
+                    && limits.getTimeManager().shouldStop(result.getBestMove(), System.currentTimeMillis() - start)) {
+                break;
+            }
+        }
+        rootPrincipalVariation = linePvs[0];
+        return result;
+    }
+
+    /**
+     * Ends the running search as soon as possible. Safe to call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Sets the selective search techniques to use. Must not be called while a search is running. The options are
+     * copied, so later changes to them only take effect when they are set again.
+     * @param options the options
+     */
+    public void setOptions(SearchOptions options) {
+        this.options = new SearchOptions(options);
+        reductions = this.options.reductionTable(64);
+    }
+
+    /**
+     * Returns a copy of the selective search techniques in use. Changing it has no effect until it is passed to
+     * setOptions.
+     * @return the options
+     */
+    public SearchOptions getOptions() {
+        return new SearchOptions(options);
+    }
+
+    /**
+     * Returns the static evaluator.
+     * @return the evaluator this Searcher scores positions with
+     */
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Returns the transposition table.
+     * @return the table this Searcher stores its results in
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of nodes searched so far by the running or last search.
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches the current position to a depth and returns its score from the side to move's point of view. The
+     * score is exact if it lies strictly between alpha and beta, and otherwise only a bound.
+     * @param depth the remaining depth in plies
+     * @param ply the distance from the root in plies
+     * @param alpha the score the side to move is already guaranteed
+     * @param beta the score the opponent is already guaranteed
+     * @param afterNullMove whether or not the last move was a null move, which can not be followed by another
+     * @return the score of the position
+     */
+    private int negamax(int depth, int ply, int alpha, int beta, boolean afterNullMove) {
+        int side = position.getSideToMove();
+        boolean inCheck = position.isSquareAttacked(position.getKingSquare(side), 1 - side);
+        if (inCheck && options.isCheckExtensions()) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiescence(ply, alpha, beta);
+        }
+        pvLength[ply] = 0;
+        countNode();
+        if (ply > 0) {
+            if (stopped) {
+                return DRAW;
+            }
+            if (position.getHalfmoveClock() >= 100 || position.isRepetition()) {
+                return DRAW;
+            }
+        }
+        if (ply == MAX_PLY - 1) {
+            return evaluator.evaluate(position);
+        }
+
+        long key = position.getKey();
+        long entry = table.probe(key);
+        int tableMove = TranspositionTable.move(entry);
+        boolean pvNode = beta - alpha > 1;
+        if (!pvNode && entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= depth) {
+            int score = scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        int staticEval = inCheck ? -INFINITY : evaluator.evaluate(position);
+        if (!pvNode && !inCheck && Math.abs(beta) < MATE_BOUND) {
+            if (options.isReverseFutility() && depth <= options.getReverseFutilityDepth()
+                    && staticEval - options.getReverseFutilityMargin() * depth >= beta) {
+                return staticEval;
+            }
+            if (options.isNullMove() && !afterNullMove && depth >= 3 && staticEval >= beta
+                    && hasPiecesOtherThanPawns(side)) {
+                position.makeNullMove();
+                int score = -negamax(depth - 1 - options.getNullMoveReduction(), ply + 1, -beta, -beta + 1, true);
+                position.unmakeNullMove();
+                if (stopped) {
+                    return DRAW;
+                }
+                if (score >= beta) {
+                    return score >= MATE_BOUND ? beta : score;
+                }
+            }
+        }
+        boolean futile = options.isFutility() && !pvNode && !inCheck && depth <= options.getFutilityDepth()
+                && staticEval + options.getFutilityMargin() * depth <= alpha;
+
+        if (followingPv && ply < rootPrincipalVariation.length) {
+            tableMove = rootPrincipalVariation[ply];
+        } else {
+            followingPv = false;
+        }
+        MovePicker picker = pickers[ply];
+        picker.init(position, tableMove, killers[ply][0], killers[ply][1], history[side]);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int moveNumber = 0;
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            if (ply == 0 && isExcludedRootMove(move)) {
+                continue;
+            }
+            moveNumber++;
+            boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+            position.makeMove(move);
+            boolean givesCheck = position.isSquareAttacked(position.getKingSquare(1 - side), side);
+            if (futile && quiet && !givesCheck && moveNumber > 1) {
+                position.unmakeMove();
+                bestScore = Math.max(bestScore, staticEval + options.getFutilityMargin() * depth);
+                continue;
+            }
+            int score;
+            if (moveNumber == 1) {
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha, false);
+            } else {
+                int reduction = 0;
+                if (options.isLateMoveReductions() && quiet && !inCheck && !givesCheck
+                        && depth >= options.getReductionMinDepth() && moveNumber > options.getReductionMinMoves()) {
+                    reduction = Math.max(0,
+                            Math.min(reductions[Math.min(depth, 63)][Math.min(moveNumber, 63)], depth - 2));
+                }
+                score = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, false);
+                if (score > alpha && reduction > 0) {
+                    score = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha, false);
+                }
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha, false);
+                }
+            }
+            position.unmakeMove();
+            followingPv = false;
+            if (stopped) {
+                // At the root the moves already searched are kept, and the rest are not visited
+                if (ply > 0) {
+                    return DRAW;
+                }
+                break;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    pvTable[ply][0] = move;
+                    System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+                    pvLength[ply] = pvLength[ply + 1] + 1;
+                    if (score >= beta) {
+                        if (quiet) {
+                            updateQuietCutoff(move, side, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (moveNumber == 0) {
+            // No legal move, since the root always has a move that is not excluded
+            return inCheck ? -(MATE - ply) : DRAW;
+        }
+        if (!stopped && !(ply == 0 && excludedCount > 0)) {
+            int bound = bestScore >= beta ? TranspositionTable.LOWER
+                    : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        }
+        return bestScore;
+    }
+
+    /**
+     * Returns true if a root move has already been given a line in the current MultiPV iteration.
+     * @param move the packed move
+     * @return whether or not the move is skipped
+     */
+    private boolean isExcludedRootMove(int move) {
+        for (int i = 0; i < excludedCount; i++) {
+            if (excludedRootMoves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if a side has a Knight, Bishop, Rook or Queen. A side with only pawns and a King is the one
+     * most likely to be in zugzwang, where passing would be better than any legal move, so null move pruning is
+     * not tried for it.
+     * @param side the color
+     * @return whether or not the side has pieces other than pawns and its King
+     */
+    private boolean hasPiecesOtherThanPawns(int side) {
+        return (position.getColorOccupancy(side) & ~position.getPieces(side, Position.PAWN)
+                & ~position.getPieces(side, Position.KING)) != 0;
+    }
+
+    /**
+     * Converts a score to be stored in the transposition table. Mate scores are stored as the distance to mate
+     * from the position itself rather than from the root, so they stay correct wherever the position is reached.
+     * @param score the score relative to the root
+     * @param ply the distance of the position from the root
+     * @return the score relative to the position
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a score read from the transposition table back to be relative to the root.
+     * @param score the score relative to the position
+     * @param ply the distance of the position from the root
+     * @return the score relative to the root
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Searches only the captures and Queen promotions of the current position, until none are left that do not
+     * lose material, and returns its score from the side to move's point of view. The side to move may instead
+     * stand pat on the static evaluation, since it is never forced to capture. A side in check searches every
+     * evasion instead.
+     * @param ply the distance from the root in plies
+     * @param alpha the score the side to move is already guaranteed
+     * @param beta the score the opponent is already guaranteed
+     * @return the score of the position
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        countNode();
+        if (stopped) {
+            return DRAW;
+        }
+        if (position.getHalfmoveClock() >= 100 || position.isRepetition()) {
+            return DRAW;
+        }
+        if (ply == MAX_PLY - 1) {
+            return evaluator.evaluate(position);
+        }
+
+        int side = position.getSideToMove();
+        boolean inCheck = position.isSquareAttacked(position.getKingSquare(side), 1 - side);
+        MovePicker picker = pickers[ply];
+        if (inCheck) {
+            picker.init(position, Move.NONE, killers[ply][0], killers[ply][1], history[side]);
+        } else {
+            picker.initCaptures(position);
+            if (!picker.hasLegalMove()) {
+                return DRAW;
+            }
+        }
+
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = evaluator.evaluate(position);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            if (!inCheck && exchange.evaluate(position, move) < 0) {
+                continue;
+            }
+            position.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (stopped) {
+                return DRAW;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (bestScore == -INFINITY) {
+            // In check with no legal move, since every searched move scores above -INFINITY
+            return -(MATE - ply);
+        }
+        return bestScore;
+    }
+
+    /**
+     * Records a quiet move that caused a cutoff as a killer move of its ply and raises its history score.
+     * @param move the packed move
+     * @param side the color that made the move
+     * @param ply the ply the move was made at
+     * @param depth the remaining depth the move was searched with
+     */
+    private void updateQuietCutoff(int move, int side, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] scores = history[side];
+        int index = Move.from(move) << 6 | Move.to(move);
+        scores[index] += depth * depth;
+        if (scores[index] > HISTORY_LIMIT) {
+            ageHistory(scores);
+        }
+    }
+
+    /**
+     * Halves every history score of a side, so that recent cutoffs count more than old ones.
+     * @param scores the history scores of the side
+     */
+    private static void ageHistory(int[] scores) {
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] >>= 1;
+        }
+    }
+
+    /**
+     * Counts a node and stops the search if the node limit has been reached, or the time limit when the count is
+     * a multiple of CHECK_INTERVAL. The node limit is checked every node, since it costs a single comparison, so
+     * the search only goes over it by the few nodes that are entered after the stop and return at once.
+     */
+    private void countNode() {
+        if (++nodes >= nodeLimit || (nodes % CHECK_INTERVAL == 0 && System.currentTimeMillis() >= deadline)) {
+            stopped = true;
+        }
+    }
+}
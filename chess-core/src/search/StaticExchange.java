@@ -0,0 +1,100 @@
+package search;
+
+import chess_game.Move;
+import chess_game.MoveGenerator;
+import chess_game.Position;
+
+/**
+ * StaticExchange works out what a capture wins once every recapture on its square has been played, without making
+ * any moves on the position (static exchange evaluation, SEE). Both sides recapture with their least valuable
+ * attacker first and either side may stop capturing when continuing would lose material. Sliders hidden behind a
+ * piece that captures join in as the piece leaves the line.
+ *
+ * A StaticExchange keeps a scratch buffer for the exchange, so each search thread needs its own.
+ * @author Riley Muessig
+ */
+public class StaticExchange {
+
+    /**
+     * Value of each piece type in an exchange. The King is worth more than every other piece together, so it only
+     * recaptures last.
+     */
+    private static final int[] VALUES = {100, 320, 330, 500, 900, 20000};
+
+    /**
+     * The longest possible exchange: every piece of both sides capturing on one square
+     */
+    private static final int MAX_EXCHANGE = 32;
+
+    /**
+     * The gain of the side that captures at each step of the exchange, assuming it is not recaptured
+     */
+    private final int[] gain;
+
+    /**
+     * Constructor for a StaticExchange.
+     */
+    public StaticExchange() {
+        gain = new int[MAX_EXCHANGE];
+    }
+
+    /**
+     * Returns the material the side to move wins by a move once every profitable recapture on its to square has
+     * been played.
+     * @param position the position
+     * @param move the packed move
+     * @return the material balance of the exchange in centipawns, negative if the move loses material
+     */
+    public int evaluate(Position position, int move) {
+        if (Move.isCastle(move)) {
+            return 0;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        long occupied = position.getOccupied() ^ (1L << from);
+        int onSquare = Position.pieceType(position.getPiece(from));
+        gain[0] = 0;
+        if (Move.isEnPassant(move)) {
+            gain[0] = VALUES[Position.PAWN];
+            occupied ^= 1L << (to + (position.getSideToMove() == Position.WHITE ? 8 : -8));
+        } else if (Move.isCapture(move)) {
+            gain[0] = VALUES[Position.pieceType(position.getPiece(to))];
+        }
+        if (Move.isPromotion(move)) {
+            onSquare = Move.promotion(move);
+            gain[0] += VALUES[onSquare] - VALUES[Position.PAWN];
+        }
+
+        int side = position.getSideToMove() ^ 1;
+        long attackers = (MoveGenerator.attackersTo(position, to, Position.WHITE, occupied)
+                | MoveGenerator.attackersTo(position, to, Position.BLACK, occupied)) & occupied;
+        int depth = 0;
+        while (true) {
+            long sideAttackers = attackers & position.getColorOccupancy(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            int type = Position.PAWN;
+            long attacker = sideAttackers & position.getPieces(side, type);
+            while (attacker == 0) {
+                type++;
+                attacker = sideAttackers & position.getPieces(side, type);
+            }
+            if (type == Position.KING && (attackers & position.getColorOccupancy(side ^ 1)) != 0) {
+                break;
+            }
+            depth++;
+            gain[depth] = VALUES[onSquare] - gain[depth - 1];
+            occupied ^= Long.lowestOneBit(attacker);
+            attackers = (MoveGenerator.attackersTo(position, to, Position.WHITE, occupied)
+                    | MoveGenerator.attackersTo(position, to, Position.BLACK, occupied)) & occupied;
+            onSquare = type;
+            side ^= 1;
+        }
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+}
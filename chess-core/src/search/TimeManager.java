@@ -0,0 +1,139 @@
+package search;
+
+import chess_game.PieceSquareTables;
+import chess_game.Position;
+
+/**
+ * TimeManager decides how long to think about one move of a timed game. From the time left, the increment and the
+ * game phase it computes two deadlines:
+ *
+ * The soft deadline is the time the move is budgeted. It is checked after every iteration of iterative deepening,
+ * and it shrinks while the best move stays the same from one iteration to the next, so a move that is clear early
+ * is played early and the time saved goes to harder moves. When the best move keeps changing the search may go
+ * past the soft deadline.
+ *
+ * The hard deadline is never exceeded: it becomes the SearchLimits time limit, which stops the search in the
+ * middle of an iteration. It is a few times the soft deadline, but never more than a fraction of the time left.
+ *
+ * The time left is spread over an estimate of the moves still to play, which falls from 40 in the opening to 20
+ * in the endgame unless the time control gives the number of moves to the next time control.
+ *
+ * A TimeManager holds the stability of the best move of the search it was started for, so a new one is started
+ * for every move.
+ * @author Riley Muessig
+ */
+public class TimeManager {
+
+    /**
+     * Default time in milliseconds kept back from every move for reading the position and sending the move
+     */
+    public static final long DEFAULT_MOVE_OVERHEAD_MILLIS = 30;
+
+    /**
+     * Moves still to play estimated in the endgame, and the number added at the opening's full phase
+     */
+    private static final int ENDGAME_MOVES_TO_GO = 20;
+    private static final int OPENING_EXTRA_MOVES_TO_GO = 20;
+
+    /**
+     * How many times the soft deadline the hard deadline is, and the largest fraction of the time left it can be
+     */
+    private static final int HARD_FACTOR = 4;
+    private static final int HARD_MAX_DIVISOR = 4;
+
+    /**
+     * Fraction, in percent, of the soft deadline after which to stop, by the number of iterations the best move
+     * has stayed the same
+     */
+    private static final int[] STABILITY_PERCENT = {150, 120, 100, 75, 55};
+
+    /**
+     * Time kept back from every move in milliseconds
+     */
+    private final long moveOverheadMillis;
+
+    /**
+     * Deadlines of the current move in milliseconds, measured from the start of the search
+     */
+    private long softMillis;
+    private long hardMillis;
+
+    /**
+     * The best move of the last completed iteration
+     */
+    private int lastBestMove;
+
+    /**
+     * The number of iterations in a row that have found the same best move
+     */
+    private int stableIterations;
+
+    /**
+     * Constructor for a TimeManager with the default move overhead.
+     */
+    public TimeManager() {
+        this(DEFAULT_MOVE_OVERHEAD_MILLIS);
+    }
+
+    /**
+     * Constructor for a TimeManager.
+     * @param moveOverheadMillis time in milliseconds kept back from every move
+     */
+    public TimeManager(long moveOverheadMillis) {
+        this.moveOverheadMillis = moveOverheadMillis;
+    }
+
+    /**
+     * Computes the deadlines of a move and forgets the best move of the previous search.
+     * @param position the position to move in, whose phase sets the estimated number of moves still to play
+     * @param remainingMillis the time left on the clock of the side to move
+     * @param incrementMillis the time added to that clock after the move
+     * @param movesToGo the number of moves to the next time control, or 0 if all remaining moves must be made in
+     *                  the time left
+     */
+    public void start(Position position, long remainingMillis, long incrementMillis, int movesToGo) {
+        if (movesToGo <= 0) {
+            int phase = Math.min(position.getPhase(), PieceSquareTables.MAX_PHASE);
+            movesToGo = ENDGAME_MOVES_TO_GO + OPENING_EXTRA_MOVES_TO_GO * phase / PieceSquareTables.MAX_PHASE;
+        }
+        long available = Math.max(remainingMillis - moveOverheadMillis, 1);
+        softMillis = Math.min(remainingMillis / movesToGo + incrementMillis * 3 / 4, available);
+        hardMillis = Math.min(softMillis * HARD_FACTOR, available / HARD_MAX_DIVISOR + incrementMillis);
+        hardMillis = Math.max(Math.min(hardMillis, available), 1);
+        softMillis = Math.max(Math.min(softMillis, hardMillis), 1);
+        lastBestMove = 0;
+        stableIterations = 0;
+    }
+
+    /**
+     * Called after every completed iteration to decide whether the search should stop before starting the next.
+     * @param bestMove the best move of the iteration
+     * @param elapsedMillis the time since the search started in milliseconds
+     * @return true if the search should stop
+     */
+    public boolean shouldStop(int bestMove, long elapsedMillis) {
+        if (bestMove == lastBestMove) {
+            stableIterations = Math.min(stableIterations + 1, STABILITY_PERCENT.length - 1);
+        } else {
+            stableIterations = 0;
+            lastBestMove = bestMove;
+        }
+        return elapsedMillis * 100 >= softMillis * STABILITY_PERCENT[stableIterations] || elapsedMillis >= hardMillis;
+    }
+
+    /**
+     * Returns the soft deadline, the time budgeted for the move when the best move is neither stable nor unstable.
+     * @return the soft deadline in milliseconds
+     */
+    public long getSoftMillis() {
+        return softMillis;
+    }
+
+    /**
+     * Returns the hard deadline, which the search must never exceed.
+     * @return the hard deadline in milliseconds
+     */
+    public long getHardMillis() {
+        return hardMillis;
+    }
+}
@@ -0,0 +1,223 @@
+package search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * TranspositionTable remembers what is known about positions that have already been searched, keyed by their
+ * Zobrist key. Each 16-byte slot holds the key XORed with a data word, followed by the data word itself. The
+ * data word packs the best move, score, depth, bound type and the generation of the search that stored it.
+ *
+ * Many threads may share a table without synchronization. Two threads writing the same slot at once can leave a
+ * key from one write next to data from the other, but then the key no longer XORs back to the probed key, so the
+ * torn slot reads as a miss. The slots live off the heap in direct ByteBuffers so tables of many gigabytes add
+ * nothing to garbage collection.
+ * @author Riley Muessig
+ */
+public class TranspositionTable {
+
+    /**
+     * Bound types: the stored score is an upper bound, a lower bound, or exact. Zero is never a valid bound, so a
+     * valid data word is never zero.
+     */
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+
+    /**
+     * The data word returned by probe when a position is not stored
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * Bytes per slot
+     */
+    private static final int SLOT_BYTES = 16;
+
+    /**
+     * Slots per buffer, since a single ByteBuffer can hold at most 2 GB
+     */
+    private static final int CHUNK_SHIFT = 26;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    /**
+     * Number of slots sampled by hashfull
+     */
+    private static final int HASHFULL_SAMPLE = 1000;
+
+    /**
+     * The slots, split across buffers of at most 1 << CHUNK_SHIFT slots each
+     */
+    private final ByteBuffer[] chunks;
+
+    /**
+     * Mask that maps a key to a slot index
+     */
+    private final long mask;
+
+    /**
+     * Generation of the current search, stored with each entry so that entries left by earlier searches are
+     * replaced first
+     */
+    private int generation;
+
+    /**
+     * Constructor for a TranspositionTable of the largest power of two number of slots that fits.
+     * @param megabytes the size of the table
+     */
+    public TranspositionTable(int megabytes) {
+        long slots = Long.highestOneBit(Math.max((long) megabytes * 1024 * 1024 / SLOT_BYTES, 1));
+        mask = slots - 1;
+        int chunkSlots = (int) Math.min(slots, 1L << CHUNK_SHIFT);
+        chunks = new ByteBuffer[(int) (slots / chunkSlots)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkSlots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Returns the stored data word of a position.
+     * @param key the Zobrist key of the position
+     * @return the data word, or MISS if the position is not stored
+     */
+    public long probe(long key) {
+        long index = key & mask;
+        ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+        int offset = (int) (index & CHUNK_MASK) * SLOT_BYTES;
+        long data = chunk.getLong(offset + 8);
+        if ((chunk.getLong(offset) ^ data) == key) {
+            return data;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores a search result for a position. An entry for another position is only replaced if it was stored by
+     * an earlier search or to no greater depth, and an entry for the same position keeps its best move if the new
+     * result has none.
+     * @param key the Zobrist key of the position
+     * @param move the best move, or Move.NONE if none is known
+     * @param score the score
+     * @param depth the depth the position was searched to
+     * @param bound UPPER, LOWER or EXACT
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        long index = key & mask;
+        ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+        int offset = (int) (index & CHUNK_MASK) * SLOT_BYTES;
+        long old = chunk.getLong(offset + 8);
+        if ((chunk.getLong(offset) ^ old) == key) {
+            if (move == 0) {
+                move = move(old);
+            }
+        } else if (old != MISS && generation(old) == generation && depth < depth(old)) {
+            return;
+        }
+        long data = (move & 0xFFFFFFL) | (score & 0xFFFFL) << 24 | (long) (depth & 0xFF) << 40
+                | (long) bound << 48 | (long) generation << 56;
+        chunk.putLong(offset, key ^ data);
+        chunk.putLong(offset + 8, data);
+    }
+
+    /**
+     * Stores a raw data word for a position, replacing whatever was in its slot. For callers that keep their own
+     * nonzero data format in the table, such as a hashed perft.
+     * @param key the Zobrist key of the position
+     * @param data the data word
+     */
+    public void put(long key, long data) {
+        long index = key & mask;
+        ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+        int offset = (int) (index & CHUNK_MASK) * SLOT_BYTES;
+        chunk.putLong(offset, key ^ data);
+        chunk.putLong(offset + 8, data);
+    }
+
+    /**
+     * Starts a new generation, so that entries stored from now on are preferred over older ones.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += 8) {
+                chunk.putLong(offset, 0L);
+            }
+        }
+        generation = 0;
+    }
+
+    /**
+     * Returns how full the table is, estimated from a sample of slots holding entries of the current generation.
+     * @return the occupancy in permill
+     */
+    public int hashfull() {
+        long sample = Math.min(HASHFULL_SAMPLE, mask + 1);
+        int used = 0;
+        for (int index = 0; index < sample; index++) {
+            long data = chunks[0].getLong(index * SLOT_BYTES + 8);
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+        return (int) (used * 1000 / sample);
+    }
+
+    /**
+     * Returns the size of the table.
+     * @return the number of slots
+     */
+    public long size() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the best move of a data word.
+     * @param data the data word
+     * @return the packed move, or Move.NONE
+     */
+    public static int move(long data) {
+        return (int) (data & 0xFFFFFF);
+    }
+
+    /**
+     * Returns the score of a data word.
+     * @param data the data word
+     * @return the score
+     */
+    public static int score(long data) {
+        return (short) (data >>> 24);
+    }
+
+    /**
+     * Returns the depth of a data word.
+     * @param data the data word
+     * @return the depth in plies
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 40) & 0xFF;
+    }
+
+    /**
+     * Returns the bound type of a data word.
+     * @param data the data word
+     * @return UPPER, LOWER or EXACT
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 48) & 0x3;
+    }
+
+    /**
+     * Returns the generation of a data word.
+     * @param data the data word
+     * @return the generation of the search that stored it
+     */
+    private static int generation(long data) {
+        return (int) (data >>> 56);
+    }
+}
@@ -0,0 +1,459 @@
+package uci;
+
+import chess_game.Fen;
+import chess_game.Move;
+import chess_game.Position;
+import notation.MoveCodec;
+import search.ParallelSearch;
+import search.SearchLimits;
+import search.SearchOptions;
+import search.SearchResult;
+import search.Searcher;
+import search.TimeManager;
+import search.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * UciEngine runs the engine as a headless process that speaks the Universal Chess Interface on standard input and
+ * output, so it can be driven by tournament managers and GUIs without starting JavaFX.
+ *
+ * The thread that calls run only reads and handles commands, and every search runs on a separate search thread.
+ * Commands are therefore read while a search is running, and "stop" ends the search within milliseconds. Supported
+ * commands are uci, isready, ucinewgame, setoption (Hash, Threads, MultiPV and Clear Hash), position startpos or
+ * fen followed by optional moves, go (depth, nodes, movetime, wtime, btime, winc, binc, movestogo and infinite),
+ * stop and quit. When go gives the clocks, a TimeManager budgets the time of the move, from the other side's clock
+ * if the side to move has none. An info line is sent as each iteration of the search completes.
+ * @author Riley Muessig
+ */
+public class UciEngine {
+
+    /**
+     * Engine name sent in reply to uci
+     */
+    public static final String NAME = "Chess";
+
+    /**
+     * Largest values of the spin options
+     */
+    private static final int MAX_HASH_MEGABYTES = 4096;
+    private static final int MAX_THREADS = 256;
+    private static final int MAX_MULTI_PV = 64;
+
+    /**
+     * Time in milliseconds kept back from every timed search for reading the command and sending the move
+     */
+    private static final long MOVE_OVERHEAD_MILLIS = TimeManager.DEFAULT_MOVE_OVERHEAD_MILLIS;
+
+    /**
+     * Where commands are read from and replies written to
+     */
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * The thread every search runs on
+     */
+    private final ExecutorService searchThread;
+
+    /**
+     * Reads the moves of position commands
+     */
+    private final MoveCodec codec;
+
+    /**
+     * The position set by the last position command
+     */
+    private Position position;
+
+    /**
+     * Values of the options
+     */
+    private int hashMegabytes;
+    private int threads;
+    private final SearchOptions options;
+
+    /**
+     * The search, recreated when the Hash or Threads option changes
+     */
+    private ParallelSearch search;
+
+    /**
+     * The running search, or null if there is none
+     */
+    private Future<?> running;
+
+    /**
+     * Released by stop, so that an infinite search that ends by itself still waits for it before its best move
+     */
+    private CountDownLatch stopSignal;
+
+    /**
+     * Constructor for a UciEngine.
+     * @param in where commands are read from
+     * @param out where replies are written to
+     */
+    public UciEngine(InputStream in, PrintStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+        this.out = out;
+        searchThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uci-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        codec = new MoveCodec();
+        position = Fen.parse(Fen.STARTING_POSITION);
+        hashMegabytes = Searcher.DEFAULT_HASH_MEGABYTES;
+        threads = 1;
+        options = new SearchOptions();
+        search = new ParallelSearch(threads, new TranspositionTable(hashMegabytes));
+        stopSignal = new CountDownLatch(0);
+    }
+
+    /**
+     * Reads and handles commands until quit is read or the input ends.
+     * @throws IOException if the input cannot be read
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!handle(line.trim())) {
+                break;
+            }
+        }
+        stopSearch();
+        search.shutdown();
+        searchThread.shutdownNow();
+    }
+
+    /**
+     * Handles one command. Unknown commands are ignored, as the protocol asks.
+     * @param line the command
+     * @return false if the command is quit
+     */
+    private boolean handle(String line) {
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                out.println("id name " + NAME);
+                out.println("id author Riley Muessig");
+                out.println("option name Hash type spin default " + Searcher.DEFAULT_HASH_MEGABYTES + " min 1 max "
+                        + MAX_HASH_MEGABYTES);
+                out.println("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                out.println("option name MultiPV type spin default 1 min 1 max " + MAX_MULTI_PV);
+                out.println("option name Clear Hash type button");
+                out.println("uciok");
+                break;
+            case "isready":
+                out.println("readyok");
+                break;
+            case "ucinewgame":
+                stopSearch();
+                search.getTable().clear();
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(line);
+                break;
+            case "position":
+                stopSearch();
+                setPosition(line, tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Handles setoption name [name] value [value]. Values out of range are clamped.
+     * @param line the command
+     */
+    private void setOption(String line) {
+        int nameStart = line.indexOf(" name ");
+        if (nameStart < 0) {
+            return;
+        }
+        int valueStart = line.indexOf(" value ", nameStart);
+        String name = line.substring(nameStart + 6, valueStart < 0 ? line.length() : valueStart).trim();
+        String value = valueStart < 0 ? "" : line.substring(valueStart + 7).trim();
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                hashMegabytes = Math.max(1, Math.min(Integer.parseInt(value), MAX_HASH_MEGABYTES));
+                createSearch();
+            } else if (name.equalsIgnoreCase("Threads")) {
+                threads = Math.max(1, Math.min(Integer.parseInt(value), MAX_THREADS));
+                createSearch();
+            } else if (name.equalsIgnoreCase("MultiPV")) {
+                options.setMultiPv(Math.max(1, Math.min(Integer.parseInt(value), MAX_MULTI_PV)));
+                search.setOptions(options);
+            } else if (name.equalsIgnoreCase("Clear Hash")) {
+                search.getTable().clear();
+            }
+        } catch (NumberFormatException e) {
+            out.println("info string Bad value for option " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Replaces the search with one that has the current Hash and Threads options.
+     */
+    private void createSearch() {
+        search.shutdown();
+        search = new ParallelSearch(threads, new TranspositionTable(hashMegabytes));
+        search.setOptions(options);
+    }
+
+    /**
+     * Handles position startpos [moves ...] and position fen [fen] [moves ...]. The moves are read straight from
+     * the command line. If the FEN or a move cannot be read, the position is left as it was.
+     * @param line the command
+     * @param tokens the command split into words
+     */
+    private void setPosition(String line, String[] tokens) {
+        if (tokens.length < 2) {
+            return;
+        }
+        int movesStart = line.indexOf(" moves");
+        int end = movesStart < 0 ? line.length() : movesStart;
+        Position next;
+        try {
+            if (tokens[1].equals("startpos")) {
+                next = Fen.parse(Fen.STARTING_POSITION);
+            } else if (tokens[1].equals("fen")) {
+                next = Fen.parse(line.substring(line.indexOf("fen") + 3, end).trim());
+            } else {
+                return;
+            }
+            if (movesStart >= 0) {
+                int i = movesStart + 6;
+                int length = line.length();
+                while (i < length) {
+                    while (i < length && line.charAt(i) == ' ') {
+                        i++;
+                    }
+                    int moveEnd = i;
+                    while (moveEnd < length && line.charAt(moveEnd) != ' ') {
+                        moveEnd++;
+                    }
+                    if (moveEnd > i) {
+                        next.makeMove(codec.parseUci(next, line, i, moveEnd));
+                    }
+                    i = moveEnd;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            out.println("info string " + e.getMessage());
+            return;
+        }
+        position = next;
+    }
+
+    /**
+     * Handles go and starts a search of the current position on the search thread, which sends the best move
+     * when it is done, or 0000 if the search failed.
+     * @param tokens the command split into words
+     */
+    private void go(String[] tokens) {
+        SearchLimits limits = new SearchLimits();
+        boolean infinite = false;
+        long movetime = -1;
+        long[] clock = {-1, -1};
+        long[] increment = {0, 0};
+        int movesToGo = 0;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                String token = tokens[i];
+                if (token.equals("infinite")) {
+                    infinite = true;
+                } else if (i + 1 < tokens.length) {
+                    String value = tokens[i + 1];
+                    switch (token) {
+                        case "depth":
+                            limits.setDepth(Math.max(1, Math.min(Integer.parseInt(value), Searcher.MAX_PLY - 1)));
+                            break;
+                        case "nodes":
+                            limits.setNodes(Long.parseLong(value));
+                            break;
+                        case "movetime":
+                            movetime = Long.parseLong(value);
+                            break;
+                        case "wtime":
+                            clock[Position.WHITE] = Long.parseLong(value);
+                            break;
+                        case "btime":
+                            clock[Position.BLACK] = Long.parseLong(value);
+                            break;
+                        case "winc":
+                            increment[Position.WHITE] = Long.parseLong(value);
+                            break;
+                        case "binc":
+                            increment[Position.BLACK] = Long.parseLong(value);
+                            break;
+                        case "movestogo":
+                            movesToGo = Integer.parseInt(value);
+                            break;
+                        default:
+                            continue;
+                    }
+                    i++;
+                }
+            }
+        } catch (NumberFormatException e) {
+            out.println("info string " + e.getMessage());
+            return;
+        }
+
+        // A GUI that only sends the clock of one side still gets a timed search rather than an endless one
+        int side = clock[position.getSideToMove()] >= 0 ? position.getSideToMove() : 1 - position.getSideToMove();
+        if (!infinite && movetime >= 0) {
+            limits.setTimeMillis(Math.max(1, movetime - MOVE_OVERHEAD_MILLIS));
+        } else if (!infinite && clock[side] >= 0) {
+            TimeManager timeManager = new TimeManager(MOVE_OVERHEAD_MILLIS);
+            timeManager.start(position, clock[side], increment[side], movesToGo);
+            limits.setTimeManager(timeManager);
+        }
+
+        Position root = new Position(position);
+        boolean waitForStop = infinite;
+        CountDownLatch signal = new CountDownLatch(1);
+        stopSignal = signal;
+        long start = System.nanoTime();
+        limits.setIterationListener(iteration -> reportIteration(iteration, System.nanoTime() - start));
+        running = searchThread.submit(() -> {
+            SearchResult result = null;
+            try {
+                result = search.search(root, limits);
+            } catch (RuntimeException e) {
+                // The GUI still gets a best move, and the next command finds the search thread ready
+                out.println("info string Search failed: " + e);
+            }
+            if (waitForStop) {
+                try {
+                    signal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            reportBestMove(result);
+        });
+    }
+
+    /**
+     * Stops the running search, if any, and waits until it has sent its best move. The stop is repeated until the
+     * search ends, so it cannot be lost if the search thread has not started searching yet. Never throws, since it
+     * runs on the thread that reads commands.
+     */
+    private void stopSearch() {
+        if (running == null) {
+            return;
+        }
+        stopSignal.countDown();
+        while (true) {
+            search.stop();
+            try {
+                running.get(1, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                // Still searching, so stop again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                out.println("info string Search failed: " + e.getCause());
+                break;
+            }
+        }
+        running = null;
+    }
+
+    /**
+     * Sends the info line of every line of an iteration of the search.
+     * @param result the result of the iteration
+     * @param elapsedNanos how long the search has taken so far
+     */
+    private void reportIteration(SearchResult result, long elapsedNanos) {
+        long millis = elapsedNanos / 1000000;
+        long nps = result.getNodes() * 1000000000L / Math.max(elapsedNanos, 1);
+        StringBuilder line = new StringBuilder();
+        SearchResult[] lines = result.getLines();
+        for (int i = 0; i < lines.length && result.getBestMove() != Move.NONE; i++) {
+            line.setLength(0);
+            line.append("info depth ").append(lines[i].getDepth());
+            if (lines.length > 1) {
+                line.append(" multipv ").append(i + 1);
+            }
+            appendScore(lines[i].getScore(), line);
+            line.append(" nodes ").append(result.getNodes()).append(" nps ").append(nps).append(" time ")
+                    .append(millis).append(" hashfull ").append(search.getTable().hashfull()).append(" pv");
+            for (int move : lines[i].getPrincipalVariation()) {
+                MoveCodec.appendUci(move, line.append(' '));
+            }
+            out.println(line);
+        }
+    }
+
+    /**
+     * Sends the best move of a finished search, with the move it expects in reply if there is one.
+     * @param result the result of the search, or null if it failed
+     */
+    private void reportBestMove(SearchResult result) {
+        StringBuilder line = new StringBuilder("bestmove ");
+        int[] principalVariation = result != null ? result.getPrincipalVariation() : new int[0];
+        if (principalVariation.length == 0) {
+            line.append("0000");
+        } else {
+            MoveCodec.appendUci(principalVariation[0], line);
+            if (principalVariation.length > 1) {
+                MoveCodec.appendUci(principalVariation[1], line.append(" ponder "));
+            }
+        }
+        out.println(line);
+    }
+
+    /**
+     * Appends a score as " score cp x" or, for a forced mate, " score mate n" where n is in moves and negative if
+     * the side to move is getting mated.
+     * @param score the score from the side to move's point of view
+     * @param line the StringBuilder
+     */
+    private static void appendScore(int score, StringBuilder line) {
+        if (score >= Searcher.MATE_BOUND) {
+            line.append(" score mate ").append((Searcher.MATE - score + 1) / 2);
+        } else if (score <= -Searcher.MATE_BOUND) {
+            line.append(" score mate ").append(-(Searcher.MATE + score) / 2);
+        } else {
+            line.append(" score cp ").append(score);
+        }
+    }
+
+    /**
+     * Runs the engine on standard input and output.
+     * @param args args are ignored
+     * @throws IOException if standard input cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        new UciEngine(System.in, System.out).run();
+    }
+}
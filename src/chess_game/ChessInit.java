@@ -1,19 +0,0 @@
-package chess_game;
-
-import gui.ChessGUI;
-import javafx.application.Application;
-
-/**
- * Launches the Chess GUI.
- * @author Riley Muessig
- */
-public class ChessInit {
-
-    /**
-     * Main function. Launches the ChessGUI.
-     * @param args args are ignored
-     */
-    public static void main(String[] args) {
-        Application.launch(ChessGUI.class);
-    }
-}
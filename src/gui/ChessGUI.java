@@ -1,6 +1,7 @@
 package gui;
 
 import chess_game.ChessGame;
+import chess_game.GameListener;
 import chess_game.Square;
 import javafx.application.Application;
 import javafx.geometry.Insets;
@@ -19,7 +20,7 @@ import pieces.ChessPiece;
  * The GUI for the Chess game. Acts as the View and Controller of the Model-View-Controller architecture.
  * @author Riley Muessig
  */
-public class ChessGUI extends Application {
+public class ChessGUI extends Application implements GameListener {
 
     /**
      * The model in the MVC architecture
@@ -189,6 +190,24 @@ public class ChessGUI extends Application {
         this.message.setText(message);
     }
 
+    /**
+     * Shows a new message from the model in the upper label.
+     * @param message the message
+     */
+    @Override
+    public void messageChanged(String message) {
+        updateLabel(message);
+    }
+
+    /**
+     * Updates the Button of a Square whose piece was placed or removed by the model.
+     * @param square the Square that changed
+     */
+    @Override
+    public void squareChanged(Square square) {
+        updateButton(square);
+    }
+
     /**
      * Populates the gridPane with buttons and configures each button's background.
      */
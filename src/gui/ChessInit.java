@@ -0,0 +1,27 @@
+package gui;
+
+import javafx.application.Application;
+import uci.UciEngine;
+
+import java.io.IOException;
+
+/**
+ * Launches the Chess GUI, or the headless UCI engine when given the argument "uci".
+ * @author Riley Muessig
+ */
+public class ChessInit {
+
+    /**
+     * Main function. Launches the ChessGUI, or runs UciEngine on standard input and output without starting JavaFX
+     * if the first argument is "uci".
+     * @param args "uci" to run the UCI engine, anything else is ignored
+     * @throws IOException if the UCI engine cannot read standard input
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("uci")) {
+            UciEngine.main(args);
+            return;
+        }
+        Application.launch(ChessGUI.class);
+    }
+}
@@ -1,4 +1,5 @@
 module Chess {
+    requires chess.core;
     requires transitive javafx.controls;
     exports gui;
 }
\ No newline at end of file